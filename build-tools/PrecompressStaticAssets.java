@@ -0,0 +1,144 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Build step run by the exec-maven-plugin against target/classes/static (never the sources):
+//  1. appends ?v=<content hash> to local js/ and css/ links in the HTML pages, so those
+//     assets can be cached for a year and still change on every deploy;
+//  2. writes .gz (and .br when the brotli CLI is installed) siblings of js/css/html files,
+//     which the resource chain serves directly instead of compressing per request.
+// Usage: java build-tools/PrecompressStaticAssets.java <static-dir>
+public class PrecompressStaticAssets {
+
+    // An existing ?v= is replaced: resources:resources skips pages that did not change, so
+    // target/ may still hold a page versioned by a previous build
+    private static final Pattern ASSET_LINK =
+        Pattern.compile("(src|href)=\"(/?)((?:js|css)/[^\"?#]+)(?:\\?v=[0-9a-f]+)?\"");
+
+    private static final int MIN_SIZE = 1024;
+
+    public static void main(String[] args) throws Exception {
+        Path root = Paths.get(args[0]);
+        if (!Files.isDirectory(root)) {
+            System.out.println("No static directory at " + root + ", skipping");
+            return;
+        }
+
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile).toList();
+        }
+
+        Map<String, String> versions = new HashMap<>();
+        for (Path file : files) {
+            if (hasExtension(file, ".js", ".css")) {
+                versions.put(root.relativize(file).toString().replace('\\', '/'), contentHash(file));
+            }
+        }
+
+        int rewritten = 0;
+        for (Path file : files) {
+            if (hasExtension(file, ".html") && versionLinks(file, versions)) {
+                rewritten++;
+            }
+        }
+
+        boolean brotli = brotliAvailable();
+        int compressed = 0;
+        for (Path file : files) {
+            if (hasExtension(file, ".js", ".css", ".html") && Files.size(file) >= MIN_SIZE) {
+                gzip(file);
+                if (brotli) {
+                    brotli(file);
+                }
+                compressed++;
+            }
+        }
+
+        System.out.printf("Versioned links in %d pages, precompressed %d assets (gzip%s)%n",
+            rewritten, compressed, brotli ? " + brotli" : "");
+    }
+
+    private static boolean versionLinks(Path html, Map<String, String> versions) throws IOException {
+        String content = Files.readString(html, StandardCharsets.UTF_8);
+        Matcher matcher = ASSET_LINK.matcher(content);
+        StringBuilder result = new StringBuilder();
+        boolean changed = false;
+        while (matcher.find()) {
+            String version = versions.get(matcher.group(3));
+            String replacement = version == null
+                ? matcher.group()
+                : matcher.group(1) + "=\"" + matcher.group(2) + matcher.group(3) + "?v=" + version + "\"";
+            changed |= !replacement.equals(matcher.group());
+            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(result);
+        if (changed) {
+            Files.writeString(html, result.toString(), StandardCharsets.UTF_8);
+        }
+        return changed;
+    }
+
+    private static void gzip(Path file) throws IOException {
+        Path target = Paths.get(file + ".gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(target)) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            Files.copy(file, out);
+        }
+    }
+
+    private static boolean brotliAvailable() {
+        try {
+            Process process = new ProcessBuilder("brotli", "--version").redirectErrorStream(true).start();
+            process.getInputStream().readAllBytes();
+            return process.waitFor(10, TimeUnit.SECONDS) && process.exitValue() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void brotli(Path file) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder("brotli", "--force", "--best", "--output=" + file + ".br", file.toString())
+            .inheritIO()
+            .start();
+        if (process.waitFor() != 0) {
+            throw new IOException("brotli failed for " + file);
+        }
+    }
+
+    private static String contentHash(Path file) throws IOException, NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file));
+        return HexFormat.of().formatHex(digest, 0, 5);
+    }
+
+    private static boolean hasExtension(Path file, String... extensions) {
+        String name = file.getFileName().toString();
+        for (String extension : extensions) {
+            if (name.endsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
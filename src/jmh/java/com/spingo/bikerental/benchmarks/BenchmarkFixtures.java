@@ -0,0 +1,133 @@
+package com.spingo.bikerental.benchmarks;
+
+import com.spingo.bikerental.Bike;
+import com.spingo.bikerental.BikeRentalApplication;
+import com.spingo.bikerental.BikeType;
+import com.spingo.bikerental.Booking;
+import com.spingo.bikerental.BookingStatus;
+import com.spingo.bikerental.User;
+import com.spingo.bikerental.UserRole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Deterministic in-memory entities shaped like the seeded data, plus the application context
+// that the database-backed benchmarks run against
+final class BenchmarkFixtures {
+
+    // Command-line arguments, so they take precedence over application.properties
+    private static final String[] H2_ARGS = {
+        "--spring.main.banner-mode=off",
+        "--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1",
+        "--spring.datasource.driverClassName=org.h2.Driver",
+        "--spring.datasource.username=sa",
+        "--spring.datasource.password=",
+        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "--spring.jpa.hibernate.ddl-auto=create-drop",
+        "--spring.jpa.show-sql=false",
+        "--spring.jpa.properties.hibernate.format_sql=false",
+        "--spring.jpa.properties.hibernate.generate_statistics=false",
+        "--rate-limit.enabled=false",
+        "--logging.level.root=WARN",
+        "--logging.level.com.spingo.bikerental=WARN",
+        "--logging.level.org.springframework.security=WARN"};
+
+    static final String[] CITIES = {"Mumbai", "Delhi", "Bangalore", "Chennai", "Kolkata", "Hyderabad", "Pune"};
+
+    static final String[] BRANDS = {"Yamaha", "Honda", "Kawasaki", "Royal Enfield", "KTM", "Bajaj", "TVS"};
+
+    private BenchmarkFixtures() {
+    }
+
+    // The whole application without a web server, on an in-memory H2 (MySQL mode) holding
+    // the DataInitializer users and bikes; later arguments override earlier ones
+    static ConfigurableApplicationContext startApplication(String... args) {
+        String[] allArgs = Arrays.copyOf(H2_ARGS, H2_ARGS.length + args.length);
+        System.arraycopy(args, 0, allArgs, H2_ARGS.length, args.length);
+        return new SpringApplicationBuilder(BikeRentalApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(allArgs);
+    }
+
+    // CSV upload for BikeImportService with the same rows as bikes(count, owners)
+    static byte[] bikesCsv(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        BikeType[] types = BikeType.values();
+        StringBuilder csv = new StringBuilder(count * 120)
+            .append("brand,model,year,type,city,pricePerHour,pricePerDay,pricePerMonth,description,imageUrl\n");
+        for (int i = 0; i < count; i++) {
+            int hourly = 50 + random.nextInt(450);
+            csv.append(BRANDS[i % BRANDS.length]).append(',')
+                .append("Model ").append(i).append(',')
+                .append(2015 + random.nextInt(10)).append(',')
+                .append(types[i % types.length]).append(',')
+                .append(CITIES[random.nextInt(CITIES.length)]).append(',')
+                .append(hourly).append(',')
+                .append(hourly * 8).append(',')
+                .append(hourly * 150).append(',')
+                .append("A well maintained bike in great condition, serviced regularly.").append(',')
+                .append("images/bike").append(i % 10).append(".jpg\n");
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        UserRole[] roles = UserRole.values();
+        for (int i = 0; i < count; i++) {
+            User user = new User("User " + i, "user" + i + "@example.com", "98765" + String.format("%05d", i),
+                "{bcrypt}$2a$10$abcdefghijklmnopqrstuuN1e5d7v6T7b0J9tQn1c3Yy0rV4aW2mS", roles[i % roles.length],
+                i + " Main St, " + CITIES[i % CITIES.length]);
+            user.setId((long) i + 1);
+            user.setVersion(0L);
+            users.add(user);
+        }
+        return users;
+    }
+
+    static List<Bike> bikes(int count, List<User> owners) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Bike> bikes = new ArrayList<>(count);
+        BikeType[] types = BikeType.values();
+        for (int i = 0; i < count; i++) {
+            BigDecimal hourly = BigDecimal.valueOf(50 + random.nextInt(450));
+            Bike bike = new Bike(BRANDS[i % BRANDS.length], "Model " + i, 2015 + random.nextInt(10),
+                types[i % types.length], CITIES[random.nextInt(CITIES.length)],
+                hourly, hourly.multiply(BigDecimal.valueOf(8)), hourly.multiply(BigDecimal.valueOf(150)),
+                "A well maintained bike in great condition, serviced regularly.", "images/bike" + (i % 10) + ".jpg",
+                owners.get(i % owners.size()));
+            bike.setId((long) i + 1);
+            bike.setVersion(0L);
+            bikes.add(bike);
+        }
+        return bikes;
+    }
+
+    static List<Booking> bookings(int count, List<Bike> bikes, List<User> users) {
+        SplittableRandom random = new SplittableRandom(7);
+        List<Booking> bookings = new ArrayList<>(count);
+        BookingStatus[] statuses = BookingStatus.values();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for (int i = 0; i < count; i++) {
+            Bike bike = bikes.get(random.nextInt(bikes.size()));
+            LocalDateTime pickup = base.plusHours(random.nextInt(24 * 365));
+            LocalDateTime dropoff = pickup.plusHours(1 + random.nextInt(72));
+            Booking booking = new Booking(users.get(random.nextInt(users.size())), bike, pickup, dropoff,
+                bike.getPricePerHour().multiply(BigDecimal.valueOf(Duration.between(pickup, dropoff).toHours())));
+            booking.setId((long) i + 1);
+            booking.setStatus(statuses[i % statuses.length]);
+            booking.setVersion(0L);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+}
@@ -0,0 +1,53 @@
+package com.spingo.bikerental.benchmarks;
+
+import com.spingo.bikerental.Bike;
+import com.spingo.bikerental.dto.BikeDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity-to-DTO mapping as done by the bike listing endpoints
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BikeDtoMappingBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int size;
+
+    private List<Bike> bikes;
+
+    @Setup
+    public void setUp() {
+        bikes = BenchmarkFixtures.bikes(size, BenchmarkFixtures.users(50));
+    }
+
+    @Benchmark
+    public List<BikeDto> loop() {
+        List<BikeDto> dtos = new ArrayList<>(bikes.size());
+        for (Bike bike : bikes) {
+            dtos.add(new BikeDto(bike));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<BikeDto> stream() {
+        return bikes.stream().map(BikeDto::new).toList();
+    }
+}
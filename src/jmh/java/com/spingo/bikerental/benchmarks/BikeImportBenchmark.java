@@ -0,0 +1,108 @@
+package com.spingo.bikerental.benchmarks;
+
+import com.spingo.bikerental.Bike;
+import com.spingo.bikerental.BikeRepository;
+import com.spingo.bikerental.User;
+import com.spingo.bikerental.UserRepository;
+import com.spingo.bikerental.dto.BikeImportResult;
+import com.spingo.bikerental.service.BikeImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Loading `rows` bikes through BikeImportService (JDBC batches of `batchSize`, one transaction
+// per batch, one index rebuild at the end) against the per-row BikeRepository.save it replaced
+// (one INSERT and one transaction per bike). Both run against the same H2 context; each
+// iteration starts from the DataInitializer bikes only.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BikeImportBenchmark {
+
+    @Param({"100000"})
+    private int rows;
+
+    @Param({"500"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+
+    private BikeImportService bikeImportService;
+
+    private BikeRepository bikeRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+
+    private long seededMaxId;
+
+    private byte[] csv;
+
+    private List<Bike> bikes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("--bikes.import.batch-size=" + batchSize);
+        bikeImportService = context.getBean(BikeImportService.class);
+        bikeRepository = context.getBean(BikeRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        owner = context.getBean(UserRepository.class).findByEmail("mike@example.com").orElseThrow();
+        seededMaxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM bikes", Long.class);
+        csv = BenchmarkFixtures.bikesCsv(rows);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetBikes() {
+        jdbcTemplate.update("DELETE FROM bikes WHERE id > ?", seededMaxId);
+        // Same rows as the CSV, as new entities
+        bikes = BenchmarkFixtures.bikes(rows, List.of(owner));
+        for (Bike bike : bikes) {
+            bike.setId(null);
+            bike.setVersion(null);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BikeImportResult batchedImport() throws IOException {
+        BikeImportResult result = bikeImportService.importCsv(new ByteArrayInputStream(csv), owner);
+        if (result.getImported() != rows) {
+            throw new IllegalStateException("Imported " + result.getImported() + " of " + rows + " rows");
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long perRowSave() {
+        long saved = 0;
+        for (Bike bike : bikes) {
+            saved += bikeRepository.save(bike).getId() == null ? 0 : 1;
+        }
+        return saved;
+    }
+}
@@ -0,0 +1,180 @@
+package com.spingo.bikerental.benchmarks;
+
+import com.spingo.bikerental.Document;
+import com.spingo.bikerental.DocumentType;
+import com.spingo.bikerental.User;
+import com.spingo.bikerental.UserRepository;
+import com.spingo.bikerental.service.DocumentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Concurrent large document uploads through DocumentService.store, from the part Tomcat has
+// spooled to disk to the metadata insert. Each operation writes a fresh `sizeBytes` spool file
+// (as Tomcat does while receiving), then stores it; contents are unique per upload so the
+// store never deduplicates. Run with -t to change the number of concurrent uploaders.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class DocumentUploadBenchmark {
+
+    @Param({"1048576", "8388608"})
+    private int sizeBytes;
+
+    private ConfigurableApplicationContext context;
+
+    private DocumentService documentService;
+
+    private User user;
+
+    private Path storageDir;
+
+    private Path spoolDir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        storageDir = Files.createTempDirectory("bench-documents");
+        spoolDir = Files.createTempDirectory(storageDir.getParent(), "bench-spool");
+        context = BenchmarkFixtures.startApplication("--documents.storage-dir=" + storageDir);
+        documentService = context.getBean(DocumentService.class);
+        user = context.getBean(UserRepository.class).findByEmail("mike@example.com").orElseThrow();
+    }
+
+    // Keeps the disk from filling up over a run
+    @TearDown(Level.Iteration)
+    public void clearStore() throws IOException {
+        deleteContents(storageDir);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        deleteContents(storageDir);
+        Files.deleteIfExists(storageDir);
+        deleteContents(spoolDir);
+        Files.deleteIfExists(spoolDir);
+    }
+
+    @State(Scope.Thread)
+    public static class Upload {
+
+        private static final AtomicLong THREADS = new AtomicLong();
+
+        private long thread;
+
+        private byte[] content;
+
+        private long sequence;
+
+        @Setup(Level.Trial)
+        public void setUp(DocumentUploadBenchmark benchmark) {
+            thread = THREADS.incrementAndGet();
+            content = new byte[benchmark.sizeBytes];
+            new SplittableRandom(thread).nextBytes(content);
+        }
+
+        // Unique per thread and upload, so no two uploads share a SHA-256
+        byte[] next() {
+            ByteBuffer.wrap(content).putLong(thread).putLong(sequence++);
+            return content;
+        }
+    }
+
+    @Benchmark
+    public Document storeBankStatement(Upload upload) throws IOException {
+        Path spooled = Files.createTempFile(spoolDir, "part-", ".tmp");
+        try {
+            Files.write(spooled, upload.next());
+            return documentService.store(user, DocumentType.BANK, new SpooledPart(spooled, sizeBytes));
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+
+    private static void deleteContents(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                if (!path.equals(dir)) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    // A multipart part already on disk; transferTo renames it like Tomcat's disk-backed parts
+    private record SpooledPart(Path file, long size) implements MultipartFile {
+
+        @Override
+        public String getName() {
+            return "bank";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return "statement.pdf";
+        }
+
+        @Override
+        public String getContentType() {
+            return "application/pdf";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        @Override
+        public long getSize() {
+            return size;
+        }
+
+        @Override
+        public byte[] getBytes() throws IOException {
+            return Files.readAllBytes(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(file);
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            Files.move(file, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
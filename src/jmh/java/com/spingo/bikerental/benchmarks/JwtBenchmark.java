@@ -0,0 +1,74 @@
+package com.spingo.bikerental.benchmarks;
+
+import com.spingo.bikerental.JwtUtil;
+import com.spingo.bikerental.TokenRevocationList;
+import com.spingo.bikerental.User;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Per-request auth cost: JwtAuthenticationFilter parses the token, checks the revocation
+// list and builds the principal from the claims
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+
+    private TokenRevocationList revocationList;
+
+    private User user;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "mySecretKey1234567890abcdefghijklmnopqrstuvwxyz1234567890");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 900_000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+
+        revocationList = new TokenRevocationList(100_000, 0.001);
+        for (int i = 0; i < 10_000; i++) {
+            revocationList.revokeToken("revoked-" + i);
+        }
+
+        user = BenchmarkFixtures.users(1).get(0);
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims parse() {
+        return jwtUtil.parseAccessToken(token);
+    }
+
+    @Benchmark
+    public User authenticate() {
+        Claims claims = jwtUtil.parseAccessToken(token);
+        User principal = jwtUtil.toPrincipal(claims);
+        if (revocationList.isRevoked(claims.getId(), principal.getId())) {
+            throw new IllegalStateException("Token unexpectedly revoked");
+        }
+        return principal;
+    }
+}
@@ -0,0 +1,95 @@
+package com.spingo.bikerental.benchmarks;
+
+import com.spingo.bikerental.Bike;
+import com.spingo.bikerental.pricing.DemandMultipliers;
+import com.spingo.bikerental.pricing.PricingEngine;
+import com.spingo.bikerental.pricing.PricingProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// PricingEngine quotes for short, day-long and month-long rentals, with and without surge and
+// seasonal rules, singly and for a listing page of bikes (POST /api/pricing/quote)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingBenchmark {
+
+    private static final int LISTING_PAGE = 50;
+
+    @Param({"3", "26", "750"})
+    private int hours;
+
+    @Param({"false", "true"})
+    private boolean rules;
+
+    private PricingEngine engine;
+
+    private List<Bike> bikes;
+
+    private LocalDateTime pickup;
+
+    private LocalDateTime dropoff;
+
+    @Setup
+    public void setUp() {
+        PricingProperties properties = new PricingProperties();
+        if (rules) {
+            properties.getRules().add(rule("weekend", List.of(), List.of(),
+                List.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), 8, 20, 1.15));
+            properties.getRules().add(rule("monsoon", List.of(), List.of(Month.JULY, Month.AUGUST),
+                List.of(), 0, 24, 0.9));
+            for (String city : BenchmarkFixtures.CITIES) {
+                properties.getRules().add(rule(city + "-evening", List.of(city), List.of(), List.of(), 17, 22, 1.2));
+            }
+        }
+        engine = new PricingEngine(properties, new DemandMultipliers());
+        bikes = BenchmarkFixtures.bikes(LISTING_PAGE, BenchmarkFixtures.users(5));
+        pickup = LocalDateTime.of(2025, 6, 1, 10, 30);
+        dropoff = pickup.plusHours(hours).plusMinutes(15);
+    }
+
+    @Benchmark
+    public PricingEngine.Quote quote() {
+        return engine.quote(bikes.get(0), pickup, dropoff);
+    }
+
+    @Benchmark
+    public void quoteListingPage(Blackhole blackhole) {
+        for (Bike bike : bikes) {
+            blackhole.consume(engine.quote(bike, pickup, dropoff));
+        }
+    }
+
+    private static PricingProperties.Rule rule(String name, List<String> cities, List<Month> months,
+                                               List<DayOfWeek> days, int fromHour, int toHour, double multiplier) {
+        PricingProperties.Rule rule = new PricingProperties.Rule();
+        rule.setName(name);
+        rule.setCities(new ArrayList<>(cities));
+        rule.setMonths(new ArrayList<>(months));
+        rule.setDaysOfWeek(new ArrayList<>(days));
+        rule.setFromHour(fromHour);
+        rule.setToHour(toHour);
+        rule.setMultiplier(multiplier);
+        return rule;
+    }
+}
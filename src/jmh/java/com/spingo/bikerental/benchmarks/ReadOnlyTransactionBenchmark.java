@@ -0,0 +1,90 @@
+package com.spingo.bikerental.benchmarks;
+
+import com.spingo.bikerental.Bike;
+import com.spingo.bikerental.BikeRepository;
+import com.spingo.bikerental.User;
+import com.spingo.bikerental.UserRepository;
+import com.spingo.bikerental.service.BikeImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// The same catalog read in a read-only and in a read-write transaction, as the service layer
+// would run it. Read-only sets FlushMode.MANUAL and loads entities without snapshots, so commit
+// skips the dirty check over every loaded bike. The second-level and query cache are off so
+// each call hydrates the entities into its session.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadOnlyTransactionBenchmark {
+
+    @Param({"5000"})
+    private int bikes;
+
+    @Param({"true", "false"})
+    private boolean readOnly;
+
+    private ConfigurableApplicationContext context;
+
+    private BikeRepository bikeRepository;
+
+    private TransactionTemplate transactionTemplate;
+
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkFixtures.startApplication(
+            "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+            "--spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        bikeRepository = context.getBean(BikeRepository.class);
+
+        User owner = context.getBean(UserRepository.class).findByEmail("mike@example.com").orElseThrow();
+        context.getBean(BikeImportService.class).importCsv(
+            new ByteArrayInputStream(BenchmarkFixtures.bikesCsv(bikes)), owner);
+
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(readOnly);
+        random = new SplittableRandom(11);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // One city's active bikes, about a seventh of the catalog
+    @Benchmark
+    public List<Bike> activeBikesInCity() {
+        String city = BenchmarkFixtures.CITIES[random.nextInt(BenchmarkFixtures.CITIES.length)];
+        return transactionTemplate.execute(status -> bikeRepository.findByIsActiveTrueAndCity(city));
+    }
+
+    @Benchmark
+    public Bike bikeById() {
+        long id = 1 + random.nextInt(bikes);
+        return transactionTemplate.execute(status -> bikeRepository.findById(id).orElse(null));
+    }
+}
@@ -0,0 +1,150 @@
+package com.spingo.bikerental.benchmarks;
+
+import com.spingo.bikerental.Bike;
+import com.spingo.bikerental.BikeRepository;
+import com.spingo.bikerental.BikeStatus;
+import com.spingo.bikerental.BikeType;
+import com.spingo.bikerental.Booking;
+import com.spingo.bikerental.BookingRepository;
+import com.spingo.bikerental.BookingStatus;
+import com.spingo.bikerental.User;
+import com.spingo.bikerental.UserRepository;
+import com.spingo.bikerental.service.BikeImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Repository queries through the full Spring Data/Hibernate stack against an in-memory H2
+// (MySQL mode) seeded with `bikes` bikes and `bookingsPerBike` bookings each. The cache
+// parameter toggles the second-level and query cache to show what the cacheable hints buy.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryQueryBenchmark {
+
+    private static final String INSERT_BOOKING_SQL =
+        "INSERT INTO bookings (user_id, bike_id, pickup_date, dropoff_date, total_price, status, " +
+        "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Param({"1000", "20000"})
+    private int bikes;
+
+    @Param({"5"})
+    private int bookingsPerBike;
+
+    @Param({"true", "false"})
+    private boolean cache;
+
+    private ConfigurableApplicationContext context;
+
+    private BikeRepository bikeRepository;
+
+    private BookingRepository bookingRepository;
+
+    private List<Long> bikeIds;
+
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkFixtures.startApplication(
+            "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cache,
+            "--spring.jpa.properties.hibernate.cache.use_query_cache=" + cache);
+        bikeRepository = context.getBean(BikeRepository.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+
+        User owner = context.getBean(UserRepository.class).findByEmail("mike@example.com").orElseThrow();
+        // Goes through BikeImportService so seeding uses the same batched insert path as uploads
+        context.getBean(BikeImportService.class).importCsv(
+            new ByteArrayInputStream(BenchmarkFixtures.bikesCsv(bikes)), owner);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        bikeIds = jdbcTemplate.queryForList("SELECT id FROM bikes", Long.class);
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users", Long.class);
+        seedBookings(jdbcTemplate, userIds);
+        random = new SplittableRandom(11);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Bike> activeBikesInCity() {
+        return bikeRepository.findByIsActiveTrueAndCity(randomCity());
+    }
+
+    @Benchmark
+    public List<Bike> bikesWithFilters() {
+        return bikeRepository.findBikesWithFilters(randomCity(), BikeType.SPORT, null, BikeStatus.AVAILABLE);
+    }
+
+    @Benchmark
+    public List<Booking> conflictingBookings() {
+        Long bikeId = bikeIds.get(random.nextInt(bikeIds.size()));
+        LocalDateTime pickup = START.plusHours(random.nextInt(24 * 365));
+        return bookingRepository.findConflictingBookings(bikeId, pickup, pickup.plusDays(2));
+    }
+
+    @Benchmark
+    public long countBookingsByStatus() {
+        return bookingRepository.countByStatus(BookingStatus.CONFIRMED);
+    }
+
+    private String randomCity() {
+        return BenchmarkFixtures.CITIES[random.nextInt(BenchmarkFixtures.CITIES.length)];
+    }
+
+    private void seedBookings(JdbcTemplate jdbcTemplate, List<Long> userIds) {
+        SplittableRandom seed = new SplittableRandom(7);
+        BookingStatus[] statuses = BookingStatus.values();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(1000);
+        for (Long bikeId : bikeIds) {
+            for (int i = 0; i < bookingsPerBike; i++) {
+                LocalDateTime pickup = START.plusHours(seed.nextInt(24 * 365));
+                int hours = 1 + seed.nextInt(72);
+                batch.add(new Object[] {
+                    userIds.get(seed.nextInt(userIds.size())), bikeId,
+                    Timestamp.valueOf(pickup), Timestamp.valueOf(pickup.plusHours(hours)),
+                    BigDecimal.valueOf(hours * 100L), statuses[seed.nextInt(statuses.length)].getCode(), now, now
+                });
+                if (batch.size() == 1000) {
+                    jdbcTemplate.batchUpdate(INSERT_BOOKING_SQL, batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_BOOKING_SQL, batch);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.spingo.bikerental.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters for one endpoint of the traffic mix. Status 0 stands for I/O failures and timeouts.
+final class EndpointStats {
+
+    private final String id;
+
+    private final String label;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    EndpointStats(String id, String label) {
+        this.id = id;
+        this.label = label;
+    }
+
+    void record(long micros, int status, boolean error) {
+        latency.record(micros);
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    String getId() {
+        return id;
+    }
+
+    String getLabel() {
+        return label;
+    }
+
+    long getRequests() {
+        return latency.count();
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    double getErrorRate() {
+        long requests = getRequests();
+        return requests == 0 ? 0 : (double) getErrors() / requests;
+    }
+
+    double percentileMillis(double quantile) {
+        return latency.percentile(quantile) / 1000.0;
+    }
+
+    double maxMillis() {
+        return latency.max() / 1000.0;
+    }
+
+    Map<Integer, Long> getStatuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+}
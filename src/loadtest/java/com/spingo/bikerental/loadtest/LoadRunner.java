@@ -0,0 +1,146 @@
+package com.spingo.bikerental.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+
+// Closed-model load: a fixed number of virtual users, each on its own thread, send a request,
+// wait for the answer, pause for an exponentially distributed think time and repeat. Requests
+// during the warm-up are sent but not recorded.
+final class LoadRunner {
+
+    static final String BIKES_FILTER = "bikes.filter";
+    static final String BIKES_GET = "bikes.get";
+    static final String BIKES_AVAILABILITY = "bikes.availability";
+    static final String AUTH_LOGIN = "auth.login";
+    static final String BOOKINGS_CREATE = "bookings.create";
+    static final String BOOKINGS_CANCEL = "bookings.cancel";
+    static final String DASHBOARD_CUSTOMER = "dashboard.customer";
+    static final String DASHBOARD_OWNER = "dashboard.owner";
+    static final String DASHBOARD_ADMIN = "dashboard.admin";
+
+    private final LoadTestOptions options;
+
+    private final String baseUrl;
+
+    private final HttpClient client;
+
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+    private volatile boolean recording;
+
+    private volatile boolean stopped;
+
+    LoadRunner(LoadTestOptions options, String baseUrl) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        addEndpoint(BIKES_FILTER, "GET /api/bikes/filter");
+        addEndpoint(BIKES_GET, "GET /api/bikes/{id}");
+        addEndpoint(BIKES_AVAILABILITY, "GET /api/bikes/{id}/availability");
+        addEndpoint(AUTH_LOGIN, "POST /api/auth/login");
+        addEndpoint(BOOKINGS_CREATE, "POST /api/bookings");
+        addEndpoint(BOOKINGS_CANCEL, "PUT /api/bookings/{id}/cancel");
+        addEndpoint(DASHBOARD_CUSTOMER, "GET /api/dashboard/customer");
+        addEndpoint(DASHBOARD_OWNER, "GET /api/dashboard/owner");
+        addEndpoint(DASHBOARD_ADMIN, "GET /api/dashboard/admin");
+    }
+
+    // Blocks for warm-up plus measurement and returns the measured wall time in seconds
+    double run() throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(options.randomSeed);
+        List<Thread> threads = new ArrayList<>(options.users);
+        List<LoadTestOptions.Persona> personas = personas();
+        for (int i = 0; i < options.users; i++) {
+            VirtualUser user = new VirtualUser(this, options, personas.get(i), random.split());
+            Thread thread = new Thread(user, "vu-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+
+        TimeUnit.MILLISECONDS.sleep(options.warmup.toMillis());
+        recording = true;
+        long start = System.nanoTime();
+        TimeUnit.MILLISECONDS.sleep(options.duration.toMillis());
+        recording = false;
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        stopped = true;
+        long joinDeadline = System.nanoTime() + options.requestTimeout.toNanos() * 2;
+        for (Thread thread : threads) {
+            TimeUnit.NANOSECONDS.timedJoin(thread, Math.max(1, joinDeadline - System.nanoTime()));
+        }
+        return elapsedSeconds;
+    }
+
+    Collection<EndpointStats> getStats() {
+        return stats.values();
+    }
+
+    boolean isStopped() {
+        return stopped;
+    }
+
+    String getBaseUrl() {
+        return baseUrl;
+    }
+
+    // Sends the request and records it against the endpoint. Statuses accepted by expected are
+    // successes; anything else, including I/O failures and timeouts, counts as an error.
+    // Returns null when no response arrived.
+    HttpResponse<String> send(String endpoint, HttpRequest.Builder request, IntPredicate expected) {
+        long start = System.nanoTime();
+        HttpResponse<String> response = null;
+        try {
+            response = client.send(request.timeout(options.requestTimeout).build(),
+                HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            // Recorded below with status 0
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        if (recording) {
+            int status = response == null ? 0 : response.statusCode();
+            stats.get(endpoint).record((System.nanoTime() - start) / 1000, status,
+                response == null || !expected.test(status));
+        }
+        return response;
+    }
+
+    // Assigns personas to users in proportion to the mix; rounding leftovers go to the heaviest personas
+    private List<LoadTestOptions.Persona> personas() {
+        int totalWeight = options.mix.values().stream().mapToInt(Integer::intValue).sum();
+        List<LoadTestOptions.Persona> personas = new ArrayList<>(options.users);
+        for (Map.Entry<LoadTestOptions.Persona, Integer> entry : options.mix.entrySet()) {
+            int count = (int) ((long) options.users * entry.getValue() / totalWeight);
+            for (int i = 0; i < count; i++) {
+                personas.add(entry.getKey());
+            }
+        }
+        List<LoadTestOptions.Persona> byWeight = new ArrayList<>(options.mix.keySet());
+        byWeight.sort((a, b) -> options.mix.get(b) - options.mix.get(a));
+        for (int i = 0; personas.size() < options.users; i++) {
+            personas.add(byWeight.get(i % byWeight.size()));
+        }
+        return personas;
+    }
+
+    private void addEndpoint(String id, String label) {
+        stats.put(id, new EndpointStats(id, label));
+    }
+}
@@ -0,0 +1,179 @@
+package com.spingo.bikerental.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.spingo.bikerental.BikeRentalApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// End-to-end load test with the production traffic mix: anonymous catalog browsing, logins,
+// booking creation and cancellation, and dashboard polling by customers, owners and admins.
+// Reports throughput, p50/p95/p99 and error rate per endpoint to the console and as JSON,
+// then checks them against the thresholds and exits non-zero on any violation (CI gate).
+//
+//   mvn -Ploadtest verify
+//   mvn -Ploadtest verify -Dloadtest.args="--users=200 --duration=5m"
+//   mvn -Ploadtest verify -Dloadtest.args="--base-url=http://localhost:8080 --customers=100000"
+//
+// Without --base-url the application is started in-process on an in-memory H2 database,
+// seeded by the "seed" profile (SyntheticDataGenerator) with rate limiting off. A remote
+// target must be seeded the same way, and --customers/--owners/--admins must not exceed its
+// seed.users-per-role. Options: see LoadTestOptions.
+//
+// Comparisons run the embedded target twice with the same load and compare the reports.
+// Virtual vs platform threads (Maven on JDK 21); look at p99 at a concurrency well above
+// Tomcat's 200 platform threads:
+//
+//   mvn -Pjava21,loadtest verify -Dloadtest.args="--users=1000 --think-time=20ms --report=target/platform.json"
+//   mvn -Pjava21,loadtest verify -Dloadtest.args="--users=1000 --think-time=20ms --profiles=virtual-threads --report=target/virtual.json"
+//
+// Default vs prod logging (--app-logging keeps the DEBUG levels the load test normally mutes):
+//
+//   mvn -Ploadtest verify -Dloadtest.args="--app-logging=true --report=target/dev-logging.json"
+//   mvn -Ploadtest verify -Dloadtest.args="--app-logging=true --profiles=prod --report=target/prod-logging.json"
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext embedded = null;
+        String baseUrl = options.baseUrl;
+        if (baseUrl == null) {
+            embedded = startEmbedded(options);
+            baseUrl = "http://localhost:" + ((ServletWebServerApplicationContext) embedded).getWebServer().getPort();
+        }
+
+        List<String> violations;
+        try {
+            System.out.printf(Locale.ROOT, "Load test against %s: %d users, %ds warm-up, %ds measured%n",
+                baseUrl, options.users, options.warmup.toSeconds(), options.duration.toSeconds());
+            LoadRunner runner = new LoadRunner(options, baseUrl);
+            double elapsedSeconds = runner.run();
+            long requests = runner.getStats().stream().mapToLong(EndpointStats::getRequests).sum();
+            double throughput = requests / elapsedSeconds;
+
+            violations = Thresholds.load(options.thresholds).check(runner.getStats(), throughput);
+            printSummary(runner, elapsedSeconds, throughput, violations);
+            writeReport(options, baseUrl, runner, elapsedSeconds, throughput, violations);
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+
+        if (!violations.isEmpty() && options.failOnViolation) {
+            System.exit(1);
+        }
+    }
+
+    // Command-line arguments, so they take precedence over application.properties
+    private static ConfigurableApplicationContext startEmbedded(LoadTestOptions options) {
+        // Listed after seed so they win where both set a property; seed.enabled is forced
+        // because the prod profile turns it off
+        String profiles = options.profiles.isBlank() ? "seed" : "seed," + options.profiles;
+        List<String> args = new ArrayList<>(List.of(
+            "--spring.profiles.active=" + profiles,
+            "--seed.enabled=true",
+            "--spring.main.banner-mode=off",
+            "--server.port=0",
+            "--management.server.port=-1",
+            "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1",
+            "--spring.datasource.driverClassName=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--rate-limit.enabled=false",
+            "--seed.password=" + options.password,
+            "--seed.users-per-role.CUSTOMER=" + options.customers,
+            "--seed.users-per-role.INDIVIDUAL_OWNER=" + options.owners,
+            "--seed.users-per-role.ADMIN=" + options.admins,
+            "--seed.users-per-role.RENTAL_BUSINESS=" + Math.max(1, options.owners / 10),
+            "--seed.users-per-role.DELIVERY_PARTNER=" + Math.max(1, options.owners / 10),
+            "--seed.bikes=" + options.bikes,
+            "--seed.bookings=" + options.bookings,
+            "--seed.random-seed=" + options.randomSeed));
+        if (!options.appLogging) {
+            args.addAll(List.of(
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.spingo.bikerental=INFO",
+                "--logging.level.org.springframework.security=WARN"));
+        }
+        // DevTools would relaunch LoadTest.main with these arguments; only a system property stops it
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(BikeRentalApplication.class).run(args.toArray(new String[0]));
+    }
+
+    private static void printSummary(LoadRunner runner, double elapsedSeconds, double throughput,
+                                     List<String> violations) {
+        System.out.printf(Locale.ROOT, "%n%-34s %9s %9s %9s %9s %9s %9s %8s%n",
+            "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+        for (EndpointStats endpoint : runner.getStats()) {
+            System.out.printf(Locale.ROOT, "%-34s %9d %9.1f %9.1f %9.1f %9.1f %9.1f %7.2f%%%n",
+                endpoint.getLabel(), endpoint.getRequests(), endpoint.getRequests() / elapsedSeconds,
+                endpoint.percentileMillis(0.50), endpoint.percentileMillis(0.95), endpoint.percentileMillis(0.99),
+                endpoint.maxMillis(), endpoint.getErrorRate() * 100);
+        }
+        System.out.printf(Locale.ROOT, "%nTotal throughput: %.1f req/s%n", throughput);
+        if (violations.isEmpty()) {
+            System.out.println("All thresholds met");
+        } else {
+            System.out.println("Threshold violations:");
+            violations.forEach(violation -> System.out.println("  " + violation));
+        }
+    }
+
+    private static void writeReport(LoadTestOptions options, String baseUrl, LoadRunner runner,
+                                    double elapsedSeconds, double throughput, List<String> violations)
+            throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("baseUrl", baseUrl);
+        report.put("users", options.users);
+        report.put("mix", options.mix);
+        report.put("profiles", options.profiles);
+        report.put("warmupSeconds", options.warmup.toSeconds());
+        report.put("durationSeconds", elapsedSeconds);
+        report.put("throughput", throughput);
+
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (EndpointStats stats : runner.getStats()) {
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("id", stats.getId());
+            endpoint.put("endpoint", stats.getLabel());
+            endpoint.put("requests", stats.getRequests());
+            endpoint.put("throughput", stats.getRequests() / elapsedSeconds);
+            endpoint.put("errors", stats.getErrors());
+            endpoint.put("errorRate", stats.getErrorRate());
+            endpoint.put("p50Ms", stats.percentileMillis(0.50));
+            endpoint.put("p95Ms", stats.percentileMillis(0.95));
+            endpoint.put("p99Ms", stats.percentileMillis(0.99));
+            endpoint.put("maxMs", stats.maxMillis());
+            endpoint.put("statuses", stats.getStatuses());
+            endpoints.add(endpoint);
+        }
+        report.put("endpoints", endpoints);
+        report.put("violations", violations);
+        report.put("passed", violations.isEmpty());
+
+        Path path = Path.of(options.report);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+        System.out.println("Report written to " + path.toAbsolutePath());
+    }
+}
@@ -0,0 +1,129 @@
+package com.spingo.bikerental.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// --name=value command-line options; see LoadTest for the list
+final class LoadTestOptions {
+
+    // Target server; when absent an embedded instance on H2 is started and seeded
+    String baseUrl;
+
+    int users = 50;
+
+    Duration warmup = Duration.ofSeconds(15);
+
+    Duration duration = Duration.ofSeconds(60);
+
+    // Mean pause between a virtual user's requests (exponentially distributed)
+    Duration thinkTime = Duration.ofMillis(250);
+
+    Duration requestTimeout = Duration.ofSeconds(10);
+
+    long randomSeed = 42;
+
+    // Share of virtual users per persona
+    Map<Persona, Integer> mix = mix("browser:60,customer:30,owner:7,admin:3");
+
+    // Seeded accounts the personas log in as (seed.<role>.<n>@example.com, see SyntheticDataGenerator)
+    int customers = 2000;
+
+    int owners = 200;
+
+    int admins = 2;
+
+    String password = "password123";
+
+    // Embedded target only: size of the synthetic dataset
+    int bikes = 5000;
+
+    int bookings = 50_000;
+
+    // Embedded target only: Spring profiles on top of "seed", e.g. virtual-threads or prod
+    String profiles = "";
+
+    // Embedded target only: keep the application's log levels instead of turning them down to WARN
+    boolean appLogging;
+
+    String report = "target/loadtest-report.json";
+
+    // Classpath resource or file path
+    String thresholds = "loadtest-thresholds.properties";
+
+    boolean failOnViolation = true;
+
+    enum Persona {
+        // Anonymous catalog browsing
+        BROWSER,
+        // Logs in, browses, books and cancels, checks the customer dashboard
+        CUSTOMER,
+        // Polls the owner dashboard
+        OWNER,
+        // Polls the admin dashboard
+        ADMIN
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (name) {
+                case "base-url" -> options.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "users" -> options.users = Integer.parseInt(value);
+                case "warmup" -> options.warmup = duration(value);
+                case "duration" -> options.duration = duration(value);
+                case "think-time" -> options.thinkTime = duration(value);
+                case "request-timeout" -> options.requestTimeout = duration(value);
+                case "seed" -> options.randomSeed = Long.parseLong(value);
+                case "mix" -> options.mix = mix(value);
+                case "customers" -> options.customers = Integer.parseInt(value);
+                case "owners" -> options.owners = Integer.parseInt(value);
+                case "admins" -> options.admins = Integer.parseInt(value);
+                case "password" -> options.password = value;
+                case "bikes" -> options.bikes = Integer.parseInt(value);
+                case "bookings" -> options.bookings = Integer.parseInt(value);
+                case "profiles" -> options.profiles = value;
+                case "app-logging" -> options.appLogging = Boolean.parseBoolean(value);
+                case "report" -> options.report = value;
+                case "thresholds" -> options.thresholds = value;
+                case "fail-on-violation" -> options.failOnViolation = Boolean.parseBoolean(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        return options;
+    }
+
+    // 90s, 500ms, 2m
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    // browser:60,customer:30,owner:7,admin:3
+    private static Map<Persona, Integer> mix(String value) {
+        Map<Persona, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] weight = part.split(":");
+            mix.put(Persona.valueOf(weight[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(weight[1].trim()));
+        }
+        return mix;
+    }
+}
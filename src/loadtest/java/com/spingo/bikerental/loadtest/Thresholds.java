@@ -0,0 +1,72 @@
+package com.spingo.bikerental.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+// Pass/fail limits for the CI gate, read from a properties file (see loadtest-thresholds.properties)
+final class Thresholds {
+
+    private final Properties limits;
+
+    private Thresholds(Properties limits) {
+        this.limits = limits;
+    }
+
+    // A path on disk wins over a classpath resource of the same name
+    static Thresholds load(String location) throws IOException {
+        Properties limits = new Properties();
+        Path path = Path.of(location);
+        if (Files.isRegularFile(path)) {
+            try (InputStream in = Files.newInputStream(path)) {
+                limits.load(in);
+            }
+        } else {
+            try (InputStream in = Thresholds.class.getClassLoader().getResourceAsStream(location)) {
+                if (in == null) {
+                    throw new IOException("Thresholds not found: " + location);
+                }
+                limits.load(in);
+            }
+        }
+        return new Thresholds(limits);
+    }
+
+    // Endpoints that saw no traffic are not judged
+    List<String> check(Collection<EndpointStats> endpoints, double throughput) {
+        List<String> violations = new ArrayList<>();
+        for (EndpointStats endpoint : endpoints) {
+            if (endpoint.getRequests() == 0) {
+                continue;
+            }
+            Double p99Limit = limit(endpoint.getId(), "p99-ms");
+            double p99 = endpoint.percentileMillis(0.99);
+            if (p99Limit != null && p99 > p99Limit) {
+                violations.add(String.format(Locale.ROOT, "%s p99 %.1f ms exceeds %.1f ms",
+                    endpoint.getId(), p99, p99Limit));
+            }
+            Double errorLimit = limit(endpoint.getId(), "max-error-rate");
+            if (errorLimit != null && endpoint.getErrorRate() > errorLimit) {
+                violations.add(String.format(Locale.ROOT, "%s error rate %.4f exceeds %.4f",
+                    endpoint.getId(), endpoint.getErrorRate(), errorLimit));
+            }
+        }
+        String minThroughput = limits.getProperty("total.min-throughput");
+        if (minThroughput != null && throughput < Double.parseDouble(minThroughput)) {
+            violations.add(String.format(Locale.ROOT, "throughput %.1f req/s below %s req/s",
+                throughput, minThroughput));
+        }
+        return violations;
+    }
+
+    private Double limit(String endpoint, String name) {
+        String value = limits.getProperty(endpoint + "." + name, limits.getProperty("default." + name));
+        return value == null ? null : Double.valueOf(value);
+    }
+}
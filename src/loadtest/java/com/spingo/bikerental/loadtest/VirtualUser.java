@@ -0,0 +1,310 @@
+package com.spingo.bikerental.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+
+// One simulated client. Browsers stay anonymous; the other personas log in with a seeded
+// account first and again every SESSION_LENGTH requests, so login keeps its share of traffic.
+final class VirtualUser implements Runnable {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final int SESSION_LENGTH = 200;
+
+    private static final int KNOWN_BIKES = 100;
+
+    // Most popular first, as in the synthetic dataset
+    private static final String[] CITIES = {"Bangalore", "Mumbai", "Delhi", "Pune", "Hyderabad", "Chennai",
+        "Goa", "Kolkata", "Jaipur", "Ahmedabad", "Kochi", "Chandigarh", "Manali", "Rishikesh"};
+
+    private static final String[] TYPES = {"SPORT", "CRUISER", "TOURING", "STANDARD"};
+
+    private final LoadRunner runner;
+
+    private final LoadTestOptions options;
+
+    private final LoadTestOptions.Persona persona;
+
+    private final SplittableRandom random;
+
+    private final long[] knownBikes = new long[KNOWN_BIKES];
+
+    private int knownBikeCount;
+
+    // Own bookings that can still be cancelled: {id, version}
+    private final Deque<long[]> openBookings = new ArrayDeque<>();
+
+    private String accessToken;
+
+    private long userId;
+
+    private int sessionRequests;
+
+    VirtualUser(LoadRunner runner, LoadTestOptions options, LoadTestOptions.Persona persona,
+                SplittableRandom random) {
+        this.runner = runner;
+        this.options = options;
+        this.persona = persona;
+        this.random = random;
+    }
+
+    @Override
+    public void run() {
+        while (!runner.isStopped() && !Thread.currentThread().isInterrupted()) {
+            try {
+                step();
+                think();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                // A malformed response body; the request itself is already recorded
+                accessToken = null;
+            }
+        }
+    }
+
+    private void step() {
+        if (persona == LoadTestOptions.Persona.BROWSER) {
+            browse();
+            return;
+        }
+        if (accessToken == null || sessionRequests++ >= SESSION_LENGTH) {
+            login();
+            return;
+        }
+        int roll = random.nextInt(100);
+        switch (persona) {
+            case CUSTOMER -> {
+                if (roll < 45) {
+                    filterBikes();
+                } else if (roll < 65) {
+                    createBooking();
+                } else if (roll < 75) {
+                    cancelBooking();
+                } else {
+                    authorizedGet(LoadRunner.DASHBOARD_CUSTOMER, "/api/dashboard/customer?userId=" + userId);
+                }
+            }
+            case OWNER -> {
+                if (roll < 80) {
+                    authorizedGet(LoadRunner.DASHBOARD_OWNER, "/api/dashboard/owner?userId=" + userId);
+                } else {
+                    filterBikes();
+                }
+            }
+            case ADMIN -> {
+                if (roll < 85) {
+                    authorizedGet(LoadRunner.DASHBOARD_ADMIN, "/api/dashboard/admin");
+                } else {
+                    filterBikes();
+                }
+            }
+            default -> browse();
+        }
+    }
+
+    private void browse() {
+        int roll = random.nextInt(100);
+        if (roll < 70 || knownBikeCount == 0) {
+            filterBikes();
+        } else if (roll < 90) {
+            send(LoadRunner.BIKES_GET, get("/api/bikes/" + knownBike()), status -> status == 200);
+        } else {
+            LocalDateTime start = futureSlot();
+            send(LoadRunner.BIKES_AVAILABILITY, get("/api/bikes/" + knownBike() + "/availability?startDate="
+                + encode(start.toString()) + "&endDate=" + encode(start.plusHours(4).toString())), status -> status == 200);
+        }
+    }
+
+    // Popular cities far more often than the tail; a type filter on half the searches.
+    // Customers only look at available bikes, so the ones they remember can be booked.
+    private void filterBikes() {
+        String city = CITIES[Math.min(CITIES.length - 1, (int) (-Math.log(1 - random.nextDouble()) * 3))];
+        StringBuilder path = new StringBuilder("/api/bikes/filter?city=").append(encode(city));
+        if (random.nextBoolean()) {
+            path.append("&type=").append(TYPES[random.nextInt(TYPES.length)]);
+        }
+        if (persona == LoadTestOptions.Persona.CUSTOMER) {
+            path.append("&status=AVAILABLE");
+        }
+        HttpResponse<String> response = send(LoadRunner.BIKES_FILTER, get(path.toString()), status -> status == 200);
+        if (response != null && response.statusCode() == 200) {
+            for (JsonNode bike : readTree(response.body())) {
+                rememberBike(bike.path("id").asLong());
+            }
+        }
+    }
+
+    private void login() {
+        String email;
+        String role;
+        switch (persona) {
+            case OWNER -> {
+                email = "seed.individual-owner." + (1 + random.nextInt(options.owners)) + "@example.com";
+                role = "INDIVIDUAL_OWNER";
+            }
+            case ADMIN -> {
+                email = "seed.admin." + (1 + random.nextInt(options.admins)) + "@example.com";
+                role = "ADMIN";
+            }
+            default -> {
+                email = "seed.customer." + (1 + random.nextInt(options.customers)) + "@example.com";
+                role = "CUSTOMER";
+            }
+        }
+        String body = toJson(Map.of("email", email, "password", options.password, "role", role));
+        HttpResponse<String> response = send(LoadRunner.AUTH_LOGIN, post("/api/auth/login", body),
+            status -> status == 200);
+        sessionRequests = 0;
+        openBookings.clear();
+        if (response != null && response.statusCode() == 200) {
+            JsonNode login = readTree(response.body());
+            accessToken = login.path("token").asText();
+            userId = login.path("id").asLong();
+        } else {
+            accessToken = null;
+        }
+    }
+
+    // Booking a bike takes it out of the available pool, so it is forgotten either way. The
+    // request body is always valid: 400 means another user booked the bike since our last
+    // search ("Bike is not available") and 409 that they did so concurrently; both are normal
+    // answers, not errors.
+    private void createBooking() {
+        if (knownBikeCount == 0) {
+            filterBikes();
+            return;
+        }
+        long bikeId = knownBike();
+        LocalDateTime pickup = futureSlot();
+        String body = toJson(Map.of("userId", userId, "bikeId", bikeId,
+            "pickupDate", pickup.toString(), "dropoffDate", pickup.plusHours(2 + random.nextInt(46)).toString()));
+        HttpResponse<String> response = send(LoadRunner.BOOKINGS_CREATE, authorized(post("/api/bookings", body)),
+            status -> status == 200 || status == 400 || status == 409);
+        if (response == null) {
+            return;
+        }
+        if (response.statusCode() == 401) {
+            accessToken = null;
+            return;
+        }
+        forgetBike(bikeId);
+        if (response.statusCode() == 200) {
+            JsonNode booking = readTree(response.body());
+            openBookings.addLast(new long[] {booking.path("id").asLong(), booking.path("version").asLong()});
+        }
+    }
+
+    private void cancelBooking() {
+        long[] booking = openBookings.pollFirst();
+        if (booking == null) {
+            createBooking();
+            return;
+        }
+        HttpRequest.Builder request = authorized(HttpRequest.newBuilder(
+                uri("/api/bookings/" + booking[0] + "/cancel?version=" + booking[1]))
+            .PUT(HttpRequest.BodyPublishers.noBody()));
+        send(LoadRunner.BOOKINGS_CANCEL, request, status -> status == 200 || status == 409);
+    }
+
+    private void authorizedGet(String endpoint, String path) {
+        HttpResponse<String> response = send(endpoint, authorized(get(path)), status -> status == 200);
+        if (response != null && response.statusCode() == 401) {
+            accessToken = null;
+        }
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder request,
+                                      IntPredicate expected) {
+        return runner.send(endpoint, request.header("Accept", "application/json"), expected);
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private HttpRequest.Builder authorized(HttpRequest.Builder request) {
+        return request.header("Authorization", "Bearer " + accessToken);
+    }
+
+    private URI uri(String path) {
+        return URI.create(runner.getBaseUrl() + path);
+    }
+
+    private void rememberBike(long id) {
+        if (id <= 0) {
+            return;
+        }
+        if (knownBikeCount < KNOWN_BIKES) {
+            knownBikes[knownBikeCount++] = id;
+        } else {
+            knownBikes[random.nextInt(KNOWN_BIKES)] = id;
+        }
+    }
+
+    private void forgetBike(long id) {
+        for (int i = 0; i < knownBikeCount; i++) {
+            if (knownBikes[i] == id) {
+                knownBikes[i] = knownBikes[--knownBikeCount];
+                return;
+            }
+        }
+    }
+
+    private long knownBike() {
+        return knownBikes[random.nextInt(knownBikeCount)];
+    }
+
+    private LocalDateTime futureSlot() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.HOURS)
+            .plusDays(90 + random.nextInt(270))
+            .plusHours(random.nextInt(24));
+    }
+
+    private void think() throws InterruptedException {
+        long meanMicros = options.thinkTime.toNanos() / 1000;
+        if (meanMicros > 0) {
+            TimeUnit.MICROSECONDS.sleep((long) (-Math.log(1 - random.nextDouble()) * meanMicros));
+        }
+    }
+
+    private static JsonNode readTree(String body) {
+        try {
+            return JSON.readTree(body);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unparseable response body", e);
+        }
+    }
+
+    private static String toJson(Object value) {
+        try {
+            return JSON.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
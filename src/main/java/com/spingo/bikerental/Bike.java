@@ -1,16 +1,21 @@
 package com.spingo.bikerental;
 
 import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "bikes")
 @Table(name = "bikes")
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Bike {
@@ -33,8 +38,7 @@ public class Bike {
     @Column(name = "year")
     private Integer year;
     
-    @Enumerated(EnumType.STRING)
-    @Column(name = "type")
+    @Column(name = "type", columnDefinition = "TINYINT")
     private BikeType type;
     
     @NotBlank
@@ -42,6 +46,17 @@ public class Bike {
     @Column(name = "city")
     private String city;
     
+    // Pickup point (WGS84); bikes without one are left out of /api/bikes/nearby
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    @Column(name = "latitude")
+    private Double latitude;
+    
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    @Column(name = "longitude")
+    private Double longitude;
+    
     @DecimalMin(value = "0.0", inclusive = false)
     @Column(name = "price_per_hour", precision = 10, scale = 2)
     private BigDecimal pricePerHour;
@@ -54,6 +69,10 @@ public class Bike {
     @Column(name = "price_per_month", precision = 10, scale = 2)
     private BigDecimal pricePerMonth;
     
+    // Owner opt-in to demand-based multipliers (DemandPricingJob); null means off
+    @Column(name = "dynamic_pricing")
+    private Boolean dynamicPricing = false;
+    
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "owner_id")
     private User owner;
@@ -62,8 +81,7 @@ public class Bike {
     @Column(name = "description")
     private String description;
     
-    @Enumerated(EnumType.STRING)
-    @Column(name = "status")
+    @Column(name = "status", columnDefinition = "TINYINT")
     private BikeStatus status;
     
     @Size(max = 500)
@@ -79,6 +97,11 @@ public class Bike {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Optimistic lock: bumped on every update, stale writes fail instead of overwriting
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     // Constructors
     public Bike() {
         this.createdAt = LocalDateTime.now();
@@ -152,6 +175,22 @@ public class Bike {
         this.city = city;
     }
     
+    public Double getLatitude() {
+        return latitude;
+    }
+    
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+    
+    public Double getLongitude() {
+        return longitude;
+    }
+    
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+    
     public BigDecimal getPricePerHour() {
         return pricePerHour;
     }
@@ -176,6 +215,14 @@ public class Bike {
         this.pricePerMonth = pricePerMonth;
     }
     
+    public Boolean getDynamicPricing() {
+        return dynamicPricing;
+    }
+    
+    public void setDynamicPricing(Boolean dynamicPricing) {
+        this.dynamicPricing = dynamicPricing;
+    }
+    
     public User getOwner() {
         return owner;
     }
@@ -232,6 +279,14 @@ public class Bike {
         this.updatedAt = updatedAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
@@ -6,14 +6,22 @@ import com.spingo.bikerental.BikeType;
 import com.spingo.bikerental.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.util.List;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
+// Catalog queries are served from the Hibernate query cache; any insert, update or delete
+// on the bikes table invalidates the cached results via the update-timestamps region.
 @Repository
 public interface BikeRepository extends JpaRepository<Bike, Long> {
     
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Bike> findByIsActiveTrue();
     
     List<Bike> findByStatus(BikeStatus status);
@@ -24,16 +32,22 @@ public interface BikeRepository extends JpaRepository<Bike, Long> {
     
     List<Bike> findByBrand(String brand);
     
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Bike> findByIsActiveTrueAndStatus(BikeStatus status);
     
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Bike> findByIsActiveTrueAndCity(String city);
     
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Bike> findByIsActiveTrueAndType(BikeType type);
     
     List<Bike> findByOwner(User owner);
     
     List<Bike> findByOwnerAndIsActiveTrue(User owner);
     
+    long countByStatus(BikeStatus status);
+    
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query("SELECT b FROM Bike b WHERE b.isActive = true AND " +
            "(:city IS NULL OR b.city = :city) AND " +
            "(:type IS NULL OR b.type = :type) AND " +
@@ -1,9 +1,20 @@
 package com.spingo.bikerental;
 
-public enum BikeStatus {
-    AVAILABLE,
-    BOOKED,
-    RENTED,
-    MAINTENANCE,
-    OUT_OF_SERVICE
+public enum BikeStatus implements CodedEnum {
+    AVAILABLE(1),
+    BOOKED(2),
+    RENTED(3),
+    MAINTENANCE(4),
+    OUT_OF_SERVICE(5);
+
+    private final short code;
+
+    BikeStatus(int code) {
+        this.code = (short) code;
+    }
+
+    @Override
+    public short getCode() {
+        return code;
+    }
 }
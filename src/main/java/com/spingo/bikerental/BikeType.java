@@ -1,8 +1,19 @@
 package com.spingo.bikerental;
 
-public enum BikeType {
-    SPORT,
-    CRUISER,
-    TOURING,
-    STANDARD
+public enum BikeType implements CodedEnum {
+    SPORT(1),
+    CRUISER(2),
+    TOURING(3),
+    STANDARD(4);
+
+    private final short code;
+
+    BikeType(int code) {
+        this.code = (short) code;
+    }
+
+    @Override
+    public short getCode() {
+        return code;
+    }
 }
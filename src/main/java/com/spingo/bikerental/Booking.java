@@ -8,12 +8,24 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_bike_range", columnList = "bike_id, pickup_date, dropoff_date"),
+    // Recent bookings across all bikes, for the demand rollup (DemandPricingJob)
+    @Index(name = "idx_bookings_dropoff", columnList = "dropoff_date"),
+    // Stale pending bookings, for the expiry sweep (PendingBookingExpiry)
+    @Index(name = "idx_bookings_status_created", columnList = "status, created_at"),
+    // Bookings due to start or finish, for BookingLifecycleJob
+    @Index(name = "idx_bookings_status_pickup", columnList = "status, pickup_date"),
+    @Index(name = "idx_bookings_status_dropoff", columnList = "status, dropoff_date")
+})
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Booking {
     
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -26,6 +38,7 @@ public class Booking {
     @JoinColumn(name = "bike_id", nullable = false)
     private Bike bike;
     
+    // The booked slot is the half-open range [pickupDate, dropoffDate)
     @NotNull
     @Column(name = "pickup_date")
     private LocalDateTime pickupDate;
@@ -34,14 +47,6 @@ public class Booking {
     @Column(name = "dropoff_date")
     private LocalDateTime dropoffDate;
     
-    @NotNull
-    @Column(name = "pickup_time")
-    private String pickupTime;
-    
-    @NotNull
-    @Column(name = "drop_time")
-    private String dropTime;
-    
     @Column(name = "actual_pickup_date")
     private LocalDateTime actualPickupDate;
     
@@ -52,8 +57,7 @@ public class Booking {
     @Column(name = "total_price", precision = 10, scale = 2)
     private BigDecimal totalPrice;
     
-    @Enumerated(EnumType.STRING)
-    @Column(name = "status")
+    @Column(name = "status", columnDefinition = "TINYINT")
     private BookingStatus status;
     
     @Size(max = 500)
@@ -66,6 +70,11 @@ public class Booking {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Optimistic lock: bumped on every update, stale writes fail instead of overwriting
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     // Constructors
     public Booking() {
         this.createdAt = LocalDateTime.now();
@@ -123,20 +132,13 @@ public class Booking {
         this.dropoffDate = dropoffDate;
     }
     
+    // Clock times are derived from the range rather than stored twice
     public String getPickupTime() {
-        return pickupTime;
-    }
-    
-    public void setPickupTime(String pickupTime) {
-        this.pickupTime = pickupTime;
+        return pickupDate == null ? null : pickupDate.toLocalTime().format(TIME_FORMAT);
     }
     
     public String getDropTime() {
-        return dropTime;
-    }
-    
-    public void setDropTime(String dropTime) {
-        this.dropTime = dropTime;
+        return dropoffDate == null ? null : dropoffDate.toLocalTime().format(TIME_FORMAT);
     }
     
     public LocalDateTime getActualPickupDate() {
@@ -195,6 +197,14 @@ public class Booking {
         this.updatedAt = updatedAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
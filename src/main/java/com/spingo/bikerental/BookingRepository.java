@@ -4,12 +4,16 @@ import com.spingo.bikerental.Booking;
 import com.spingo.bikerental.BookingStatus;
 import com.spingo.bikerental.User;
 import com.spingo.bikerental.Bike;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
 
 @Repository
@@ -25,15 +29,88 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     
     List<Booking> findByBikeId(Long bikeId);
     
+    List<Booking> findByBikeOwnerAndBikeIsActiveTrue(User owner);
+    
+    long countByStatus(BookingStatus status);
+    
+    @Query("SELECT COALESCE(SUM(b.totalPrice), 0) FROM Booking b WHERE b.status = :status")
+    BigDecimal sumTotalPriceByStatus(@Param("status") BookingStatus status);
+    
     @Query("SELECT b FROM Booking b WHERE b.pickupDate BETWEEN :startDate AND :endDate")
     List<Booking> findBookingsByDateRange(@Param("startDate") LocalDateTime startDate,
                                          @Param("endDate") LocalDateTime endDate);
     
+    // Two ranges [start, end) overlap iff each starts before the other ends;
+    // served by idx_bookings_bike_range (bike_id, pickup_date, dropoff_date)
     @Query("SELECT b FROM Booking b WHERE b.bike.id = :bikeId AND " +
-           "((b.pickupDate <= :endDate AND b.dropoffDate >= :startDate) OR " +
-           "(b.actualPickupDate <= :endDate AND b.actualDropoffDate >= :startDate)) AND " +
-           "b.status IN ('CONFIRMED', 'ACTIVE')")
-    List<Booking> findConflictingBookings(@Param("bikeId") Long bikeId,
+           "b.pickupDate < :endDate AND b.dropoffDate > :startDate AND " +
+           "b.status IN :statuses")
+    List<Booking> findOverlappingBookings(@Param("bikeId") Long bikeId,
                                          @Param("startDate") LocalDateTime startDate,
-                                         @Param("endDate") LocalDateTime endDate);
+                                         @Param("endDate") LocalDateTime endDate,
+                                         @Param("statuses") Collection<BookingStatus> statuses);
+    
+    default List<Booking> findConflictingBookings(Long bikeId, LocalDateTime startDate, LocalDateTime endDate) {
+        return findOverlappingBookings(bikeId, startDate, endDate,
+                EnumSet.of(BookingStatus.CONFIRMED, BookingStatus.ACTIVE));
+    }
+    
+    // Batched form of findOverlappingBookings for nearby search: which of these bikes are taken
+    @Query("SELECT DISTINCT b.bike.id FROM Booking b WHERE b.bike.id IN :bikeIds AND " +
+           "b.pickupDate < :endDate AND b.dropoffDate > :startDate AND " +
+           "b.status IN :statuses")
+    List<Long> findOverlappingBikeIds(@Param("bikeIds") Collection<Long> bikeIds,
+                                      @Param("startDate") LocalDateTime startDate,
+                                      @Param("endDate") LocalDateTime endDate,
+                                      @Param("statuses") Collection<BookingStatus> statuses);
+    
+    // Unlike findConflictingBookings this counts PENDING too: an unpaid booking still holds the bike
+    default List<Long> findBookedBikeIds(Collection<Long> bikeIds, LocalDateTime startDate, LocalDateTime endDate) {
+        return findOverlappingBikeIds(bikeIds, startDate, endDate,
+                EnumSet.of(BookingStatus.PENDING, BookingStatus.CONFIRMED, BookingStatus.ACTIVE));
+    }
+    
+    // Just enough of a booking to schedule its expiry (PendingBookingExpiry)
+    interface CreatedAt {
+        Long getId();
+        LocalDateTime getCreatedAt();
+    }
+    
+    List<CreatedAt> findCreatedAtByStatus(BookingStatus status);
+    
+    // Keyset-paged by id; filtered on idx_bookings_status_created (status, created_at)
+    @Query("SELECT b.id FROM Booking b WHERE b.status = :status AND b.createdAt <= :createdBefore " +
+           "AND b.id > :afterId ORDER BY b.id")
+    List<Long> findIdsByStatusCreatedBefore(@Param("status") BookingStatus status,
+                                            @Param("createdBefore") LocalDateTime createdBefore,
+                                            @Param("afterId") Long afterId,
+                                            Pageable pageable);
+    
+    // A booking due for a lifecycle transition at the given time (BookingLifecycleJob)
+    interface Due {
+        Long getId();
+        LocalDateTime getAt();
+    }
+    
+    // Keyset-paged in (time, id) order, which idx_bookings_status_pickup / _dropoff hold
+    // (InnoDB appends the id), so every page is a short index range scan
+    @Query("SELECT b.id AS id, b.pickupDate AS at FROM Booking b WHERE b.status = :status " +
+           "AND b.pickupDate <= :until " +
+           "AND (b.pickupDate > :afterAt OR (b.pickupDate = :afterAt AND b.id > :afterId)) " +
+           "ORDER BY b.pickupDate, b.id")
+    List<Due> findDuePickups(@Param("status") BookingStatus status,
+                             @Param("until") LocalDateTime until,
+                             @Param("afterAt") LocalDateTime afterAt,
+                             @Param("afterId") Long afterId,
+                             Pageable pageable);
+    
+    @Query("SELECT b.id AS id, b.dropoffDate AS at FROM Booking b WHERE b.status = :status " +
+           "AND b.dropoffDate <= :until " +
+           "AND (b.dropoffDate > :afterAt OR (b.dropoffDate = :afterAt AND b.id > :afterId)) " +
+           "ORDER BY b.dropoffDate, b.id")
+    List<Due> findDueDropoffs(@Param("status") BookingStatus status,
+                              @Param("until") LocalDateTime until,
+                              @Param("afterAt") LocalDateTime afterAt,
+                              @Param("afterId") Long afterId,
+                              Pageable pageable);
 }
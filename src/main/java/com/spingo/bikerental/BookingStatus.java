@@ -1,9 +1,20 @@
 package com.spingo.bikerental;
 
-public enum BookingStatus {
-    PENDING,
-    CONFIRMED,
-    ACTIVE,
-    COMPLETED,
-    CANCELLED
+public enum BookingStatus implements CodedEnum {
+    PENDING(1),
+    CONFIRMED(2),
+    ACTIVE(3),
+    COMPLETED(4),
+    CANCELLED(5);
+
+    private final short code;
+
+    BookingStatus(int code) {
+        this.code = (short) code;
+    }
+
+    @Override
+    public short getCode() {
+        return code;
+    }
 }
@@ -0,0 +1,7 @@
+package com.spingo.bikerental;
+
+// Enums stored as a stable small-int code instead of their name.
+// Codes are persisted, so never renumber or reuse one.
+public interface CodedEnum {
+    short getCode();
+}
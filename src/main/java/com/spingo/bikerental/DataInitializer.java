@@ -4,13 +4,14 @@ import com.spingo.bikerental.*;
 import com.spingo.bikerental.BikeRepository;
 import com.spingo.bikerental.UserRepository;
 import com.spingo.bikerental.BookingRepository;
+import com.spingo.bikerental.seed.SyntheticDataGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 
 @Component
 public class DataInitializer implements CommandLineRunner {
@@ -27,9 +28,18 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private SyntheticDataGenerator syntheticDataGenerator;
+    
     @Override
     public void run(String... args) throws Exception {
+        // The demo accounts stay either way; with seed.enabled the fixed bikes and
+        // bookings are replaced by the generated dataset
         initializeUsers();
+        if (syntheticDataGenerator.isEnabled()) {
+            syntheticDataGenerator.generate();
+            return;
+        }
         initializeBikes();
         initializeBookings();
     }
@@ -172,10 +182,8 @@ public class DataInitializer implements CommandLineRunner {
                 Booking booking1 = new Booking();
                 booking1.setUser(customer1);
                 booking1.setBike(bike1);
-                booking1.setPickupDate(LocalDateTime.now().plusDays(1));
-                booking1.setDropoffDate(LocalDateTime.now().plusDays(2));
-                booking1.setPickupTime("09:00");
-                booking1.setDropTime("18:00");
+                booking1.setPickupDate(LocalDate.now().plusDays(1).atTime(9, 0));
+                booking1.setDropoffDate(LocalDate.now().plusDays(2).atTime(18, 0));
                 booking1.setTotalPrice(new BigDecimal("4500.00")); // 9 hours * 500
                 booking1.setStatus(BookingStatus.PENDING);
                 bookingRepository.save(booking1);
@@ -186,10 +194,8 @@ public class DataInitializer implements CommandLineRunner {
                 Booking booking2 = new Booking();
                 booking2.setUser(customer2);
                 booking2.setBike(bike2);
-                booking2.setPickupDate(LocalDateTime.now().plusDays(3));
-                booking2.setDropoffDate(LocalDateTime.now().plusDays(4));
-                booking2.setPickupTime("10:00");
-                booking2.setDropTime("16:00");
+                booking2.setPickupDate(LocalDate.now().plusDays(3).atTime(10, 0));
+                booking2.setDropoffDate(LocalDate.now().plusDays(4).atTime(16, 0));
                 booking2.setTotalPrice(new BigDecimal("2400.00")); // 6 hours * 400
                 booking2.setStatus(BookingStatus.CONFIRMED);
                 bookingRepository.save(booking2);
@@ -0,0 +1,98 @@
+package com.spingo.bikerental;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Audit trail of demand-based pricing: the multipliers DemandPricingJob published for one
+// city and bike type, in force from computedAt until the next row for the same pair
+@Entity
+@Table(name = "demand_pricing_history", indexes = {
+    @Index(name = "idx_demand_history_city_type", columnList = "city, type, computed_at"),
+    @Index(name = "idx_demand_history_computed", columnList = "computed_at")
+})
+public class DemandPricingHistory {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+    
+    @Column(name = "city", length = 50, nullable = false)
+    private String city;
+    
+    @Column(name = "type", columnDefinition = "TINYINT", nullable = false)
+    private BikeType type;
+    
+    // Active bikes the utilization was measured against
+    @Column(name = "fleet_size", nullable = false)
+    private Integer fleetSize;
+    
+    // Booked share of fleet hours over the whole window
+    @Column(name = "utilization", nullable = false)
+    private Double utilization;
+    
+    @Column(name = "min_multiplier", nullable = false)
+    private Double minMultiplier;
+    
+    @Column(name = "max_multiplier", nullable = false)
+    private Double maxMultiplier;
+    
+    // 168 comma-separated multipliers, Monday 00:00 first
+    @Column(name = "multipliers", length = 1200, nullable = false)
+    private String multipliers;
+    
+    // Constructors
+    public DemandPricingHistory() {}
+    
+    public DemandPricingHistory(LocalDateTime computedAt, String city, BikeType type, Integer fleetSize,
+                                Double utilization, Double minMultiplier, Double maxMultiplier, String multipliers) {
+        this.computedAt = computedAt;
+        this.city = city;
+        this.type = type;
+        this.fleetSize = fleetSize;
+        this.utilization = utilization;
+        this.minMultiplier = minMultiplier;
+        this.maxMultiplier = maxMultiplier;
+        this.multipliers = multipliers;
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+    
+    public String getCity() {
+        return city;
+    }
+    
+    public BikeType getType() {
+        return type;
+    }
+    
+    public Integer getFleetSize() {
+        return fleetSize;
+    }
+    
+    public Double getUtilization() {
+        return utilization;
+    }
+    
+    public Double getMinMultiplier() {
+        return minMultiplier;
+    }
+    
+    public Double getMaxMultiplier() {
+        return maxMultiplier;
+    }
+    
+    public String getMultipliers() {
+        return multipliers;
+    }
+}
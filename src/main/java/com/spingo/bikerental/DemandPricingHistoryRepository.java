@@ -0,0 +1,25 @@
+package com.spingo.bikerental;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DemandPricingHistoryRepository extends JpaRepository<DemandPricingHistory, Long> {
+    
+    // Null city or type matches all
+    @Query("SELECT h FROM DemandPricingHistory h WHERE (:city IS NULL OR h.city = :city) AND " +
+           "(:type IS NULL OR h.type = :type) ORDER BY h.computedAt DESC, h.id DESC")
+    List<DemandPricingHistory> findRecent(@Param("city") String city, @Param("type") BikeType type,
+                                          Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM DemandPricingHistory h WHERE h.computedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,53 @@
+package com.spingo.bikerental;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Booked bike-hours per city, bike type and hour slot: the rollup DemandPricingJob reads
+// instead of scanning bookings. Written in bulk through JDBC by the job; mapped here so the
+// table is managed with the rest of the schema.
+@Entity
+@Table(name = "booking_demand_rollup", indexes = {
+    @Index(name = "idx_demand_rollup_slot", columnList = "slot_start, city, type", unique = true)
+})
+public class DemandRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "city", length = 50, nullable = false)
+    private String city;
+    
+    @Column(name = "type", columnDefinition = "TINYINT", nullable = false)
+    private BikeType type;
+    
+    // Start of the hour the booked time falls in
+    @Column(name = "slot_start", nullable = false)
+    private LocalDateTime slotStart;
+    
+    @Column(name = "booked_hours", nullable = false)
+    private Double bookedHours;
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public String getCity() {
+        return city;
+    }
+    
+    public BikeType getType() {
+        return type;
+    }
+    
+    public LocalDateTime getSlotStart() {
+        return slotStart;
+    }
+    
+    public Double getBookedHours() {
+        return bookedHours;
+    }
+}
@@ -0,0 +1,142 @@
+package com.spingo.bikerental;
+
+import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.LocalDateTime;
+
+// Metadata for an uploaded verification document. The bytes live on disk under their
+// SHA-256, so several rows (e.g. the same licence scan uploaded twice) can share one file.
+@Entity
+@Table(name = "documents", indexes = {
+    @Index(name = "idx_documents_user", columnList = "user_id, document_type"),
+    @Index(name = "idx_documents_sha256", columnList = "sha256")
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class Document {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    
+    @Column(name = "document_type", columnDefinition = "TINYINT", nullable = false)
+    private DocumentType documentType;
+    
+    @Column(name = "status", columnDefinition = "TINYINT", nullable = false)
+    private DocumentStatus status = DocumentStatus.PENDING;
+    
+    @Column(name = "original_filename", length = 255)
+    private String originalFilename;
+    
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+    
+    @Column(name = "size_bytes", nullable = false)
+    private long size;
+    
+    @Column(name = "sha256", length = 64, nullable = false)
+    private String sha256;
+    
+    @Column(name = "uploaded_at")
+    private LocalDateTime uploadedAt;
+    
+    // Constructors
+    public Document() {
+        this.uploadedAt = LocalDateTime.now();
+    }
+    
+    public Document(User user, DocumentType documentType, String originalFilename, String contentType,
+                    long size, String sha256) {
+        this();
+        this.user = user;
+        this.documentType = documentType;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.size = size;
+        this.sha256 = sha256;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public User getUser() {
+        return user;
+    }
+    
+    public void setUser(User user) {
+        this.user = user;
+    }
+    
+    // Reading the id of a lazy proxy doesn't initialize it
+    public Long getUserId() {
+        return user != null ? user.getId() : null;
+    }
+    
+    public DocumentType getDocumentType() {
+        return documentType;
+    }
+    
+    public void setDocumentType(DocumentType documentType) {
+        this.documentType = documentType;
+    }
+    
+    public DocumentStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(DocumentStatus status) {
+        this.status = status;
+    }
+    
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+    
+    public void setOriginalFilename(String originalFilename) {
+        this.originalFilename = originalFilename;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+    
+    public long getSize() {
+        return size;
+    }
+    
+    public void setSize(long size) {
+        this.size = size;
+    }
+    
+    public String getSha256() {
+        return sha256;
+    }
+    
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+    
+    public LocalDateTime getUploadedAt() {
+        return uploadedAt;
+    }
+    
+    public void setUploadedAt(LocalDateTime uploadedAt) {
+        this.uploadedAt = uploadedAt;
+    }
+}
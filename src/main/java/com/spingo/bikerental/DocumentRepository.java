@@ -0,0 +1,16 @@
+package com.spingo.bikerental;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DocumentRepository extends JpaRepository<Document, Long> {
+    
+    // Spelled out because Document.getUserId() would make the derived query look for a userId attribute
+    @Query("SELECT d FROM Document d WHERE d.user.id = :userId ORDER BY d.uploadedAt DESC")
+    List<Document> findByUserIdOrderByUploadedAtDesc(@Param("userId") Long userId);
+}
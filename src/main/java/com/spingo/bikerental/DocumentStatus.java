@@ -0,0 +1,18 @@
+package com.spingo.bikerental;
+
+public enum DocumentStatus implements CodedEnum {
+    PENDING(1),
+    VERIFIED(2),
+    REJECTED(3);
+
+    private final short code;
+
+    DocumentStatus(int code) {
+        this.code = (short) code;
+    }
+
+    @Override
+    public short getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,43 @@
+package com.spingo.bikerental;
+
+import java.util.Locale;
+import java.util.Set;
+
+public enum DocumentType implements CodedEnum {
+    LICENSE(1, 5 * 1024 * 1024, Set.of("image/jpeg", "image/jpg", "image/png")),
+    AADHAAR(2, 5 * 1024 * 1024, Set.of("image/jpeg", "image/jpg", "image/png")),
+    PAN(3, 5 * 1024 * 1024, Set.of("image/jpeg", "image/jpg", "image/png")),
+    BANK(4, 10 * 1024 * 1024, Set.of("application/pdf"));
+
+    private final short code;
+    private final long maxSize;
+    private final Set<String> contentTypes;
+
+    DocumentType(int code, long maxSize, Set<String> contentTypes) {
+        this.code = (short) code;
+        this.maxSize = maxSize;
+        this.contentTypes = contentTypes;
+    }
+
+    @Override
+    public short getCode() {
+        return code;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public Set<String> getContentTypes() {
+        return contentTypes;
+    }
+
+    // Multipart field names used by documents.js: license, aadhaar, pan, bank
+    public static DocumentType fromFieldName(String fieldName) {
+        try {
+            return valueOf(fieldName.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown document type: " + fieldName);
+        }
+    }
+}
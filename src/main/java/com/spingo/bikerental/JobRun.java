@@ -0,0 +1,29 @@
+package com.spingo.bikerental;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// The latest period a scheduled job has been claimed for, so that with several instances
+// running only one does the job's writes per period. Claimed through JDBC by DemandPricingJob;
+// mapped here so the table is managed with the rest of the schema.
+@Entity
+@Table(name = "job_runs")
+public class JobRun {
+    
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+    
+    @Column(name = "run_at", nullable = false)
+    private LocalDateTime runAt;
+    
+    // Getters
+    public String getName() {
+        return name;
+    }
+    
+    public LocalDateTime getRunAt() {
+        return runAt;
+    }
+}
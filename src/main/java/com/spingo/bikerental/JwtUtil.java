@@ -6,7 +6,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
 import javax.crypto.SecretKey;
+import java.security.SecureRandom;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -15,14 +18,36 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
     
+    // Compact access-token claims: sub is the email, uid the user id, r the role code
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "r";
+    
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
     @Value("${jwt.secret}")
     private String secret;
     
+    // Access-token lifetime in milliseconds
     @Value("${jwt.expiration}")
     private Long expiration;
     
+    private SecretKey signingKey;
+    
+    private JwtParser parser;
+    
+    // The key and parser are immutable and thread-safe, build them once instead of per request
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+    
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
+    }
+    
+    public long getExpirationMillis() {
+        return expiration;
     }
     
     public String extractUsername(String token) {
@@ -39,11 +64,28 @@ public class JwtUtil {
     }
     
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+    
+    // Verifies signature and expiry; throws JwtException for anything invalid
+    public Claims parseAccessToken(String token) {
+        return extractAllClaims(token);
+    }
+    
+    // Principal rebuilt from the token alone, so authenticating a request needs no user lookup.
+    // Only id, email and role are populated; it is not a managed entity.
+    public User toPrincipal(Claims claims) {
+        User user = new User();
+        user.setId(claims.get(CLAIM_USER_ID, Number.class).longValue());
+        user.setEmail(claims.getSubject());
+        short roleCode = claims.get(CLAIM_ROLE, Number.class).shortValue();
+        for (UserRole role : UserRole.values()) {
+            if (role.getCode() == roleCode) {
+                user.setRole(role);
+            }
+        }
+        user.setIsActive(true);
+        return user;
     }
     
     private Boolean isTokenExpired(String token) {
@@ -59,18 +101,21 @@ public class JwtUtil {
         return createToken(extraClaims, userDetails.getUsername());
     }
     
+    // Short-lived access token with a random id (jti) so a single token can be revoked
     public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("userId", user.getId());
-        claims.put("role", user.getRole().name());
-        claims.put("name", user.getName());
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRole().getCode());
         return createToken(claims, user.getEmail());
     }
     
     private String createToken(Map<String, Object> claims, String subject) {
+        byte[] tokenId = new byte[12];
+        RANDOM.nextBytes(tokenId);
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
+                .setId(Base64.getUrlEncoder().withoutPadding().encodeToString(tokenId))
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
@@ -6,6 +6,9 @@ public class LoginResponse {
     
     private String token;
     private String type = "Bearer";
+    // Access tokens are short-lived; exchange the refresh token at /api/auth/refresh
+    private String refreshToken;
+    private long expiresIn;
     private Long id;
     private String name;
     private String email;
@@ -31,6 +34,22 @@ public class LoginResponse {
         this.token = token;
     }
     
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+    
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+    
     public String getType() {
         return type;
     }
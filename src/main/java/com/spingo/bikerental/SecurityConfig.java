@@ -1,8 +1,14 @@
 package com.spingo.bikerental;
 
+import com.spingo.bikerental.ratelimit.RateLimitFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -10,33 +16,45 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
+
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            // Missing or expired access token: 401, which tells the frontend to refresh it (app.js)
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
             .authorizeHttpRequests(auth -> auth
                 // Public endpoints - allow all static files and HTML pages
                 .requestMatchers("/", "/login", "/signup", "/error", "/health").permitAll()
-                .requestMatchers("/*.html", "/css/**", "/js/**", "/images/**", "/favicon.ico").permitAll()
+                .requestMatchers("/*.html", "/css/**", "/js/**", "/images/**", "/media/**", "/favicon.ico").permitAll()
                 .requestMatchers("/bikes.html", "/booking.html", "/dashboard.html", "/admin-dashboard.html", 
                                 "/individual-owner-dashboard.html", "/rental-business-dashboard.html", 
                                 "/delivery-dashboard.html", "/booking-confirmation.html", "/cart.html", 
@@ -48,10 +66,21 @@ public class SecurityConfig {
                 .requestMatchers("/api/health").permitAll()
                 .requestMatchers("/api/public/**").permitAll()
                 
+                // Actuator listens on a loopback-only management port (see application.properties)
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+                
+                // Bulk import would otherwise match the public "/api/bikes/*" rule below
+                .requestMatchers(HttpMethod.POST, "/api/bikes/import").hasAnyRole("ADMIN", "INDIVIDUAL_OWNER", "RENTAL_BUSINESS")
+                
                 // Public bike browsing endpoints (MUST BE BEFORE CRUD)
                 .requestMatchers("/api/bikes/popular").permitAll()
                 .requestMatchers("/api/bikes/available").permitAll()
                 .requestMatchers("/api/bikes/filter").permitAll()
+                .requestMatchers("/api/bikes/search").permitAll()
+                .requestMatchers("/api/bikes/nearby").permitAll()
+                .requestMatchers("/api/bikes/suggest").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/pricing/quote").permitAll()
                 .requestMatchers("/api/bikes/*/availability").permitAll()
                 .requestMatchers("/api/bikes/status/**").permitAll()
                 .requestMatchers("/api/bikes/type/**").permitAll()
@@ -74,6 +103,7 @@ public class SecurityConfig {
                 .requestMatchers("/api/dashboard/business").hasRole("RENTAL_BUSINESS")
                 .requestMatchers("/api/dashboard/partner").hasRole("DELIVERY_PARTNER")
                 .requestMatchers("/api/users/**").authenticated()
+                .requestMatchers("/api/documents/**").authenticated()
 
                 // Any other request must be authenticated
                 .anyRequest().authenticated()
@@ -81,6 +111,8 @@ public class SecurityConfig {
 
         // Add JWT filter before default authentication
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        // Rate limits and load shedding, after the JWT filter so per-user limits know the caller
+        http.addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -99,8 +131,29 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength,
+                                           @Value("${security.password.target-latency:250ms}") Duration targetLatency) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        logHashLatency(bcrypt, strength, targetLatency);
+        
+        // New hashes are stored as {bcrypt}...; hashes written before the prefix existed are
+        // still checked with BCrypt and, like weaker-cost ones, rehashed on the next login
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+    
+    // Each BCrypt cost step doubles login CPU; report the cost actually paid on this machine
+    private static void logHashLatency(BCryptPasswordEncoder bcrypt, int strength, Duration targetLatency) {
+        long start = System.nanoTime();
+        bcrypt.encode("calibration");
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        if (elapsed.compareTo(targetLatency) > 0) {
+            log.warn("BCrypt strength {} takes {} ms per hash, above the {} ms target; consider lowering security.password.bcrypt-strength",
+                strength, elapsed.toMillis(), targetLatency.toMillis());
+        } else {
+            log.info("BCrypt strength {} takes {} ms per hash (target {} ms)", strength, elapsed.toMillis(), targetLatency.toMillis());
+        }
     }
 
     @Bean
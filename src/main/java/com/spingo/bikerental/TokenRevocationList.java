@@ -0,0 +1,119 @@
+package com.spingo.bikerental;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// In-memory revocation check for access tokens, consulted by JwtAuthenticationFilter on every
+// request without touching the database. Logged-out token ids and deactivated users are added
+// to a Bloom filter; a false positive only forces the client through /api/auth/refresh.
+//
+// An entry only has to outlive the access tokens issued before it, so two generations are kept
+// and rotated every access-token lifetime: each entry survives between one and two lifetimes,
+// and memory stays bounded no matter how many logouts happen. Other instances do not see a
+// revocation; there the access token stays valid until it expires.
+@Component
+public class TokenRevocationList {
+
+    private final int expectedEntries;
+
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter current;
+
+    private volatile BloomFilter previous;
+
+    public TokenRevocationList(@Value("${jwt.revocation.expected-entries:100000}") int expectedEntries,
+                               @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.current = new BloomFilter(expectedEntries, falsePositiveRate);
+        this.previous = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    public void revokeToken(String tokenId) {
+        current.add("t:" + tokenId);
+    }
+
+    public void revokeUser(Long userId) {
+        current.add("u:" + userId);
+    }
+
+    public boolean isRevoked(String tokenId, Long userId) {
+        BloomFilter newer = current;
+        BloomFilter older = previous;
+        String tokenKey = "t:" + tokenId;
+        String userKey = "u:" + userId;
+        return newer.mightContain(tokenKey) || newer.mightContain(userKey)
+            || older.mightContain(tokenKey) || older.mightContain(userKey);
+    }
+
+    @Scheduled(fixedRateString = "${jwt.expiration}", initialDelayString = "${jwt.expiration}")
+    public synchronized void rotate() {
+        previous = current;
+        current = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    // Lock-free Bloom filter: bits are set with an atomic OR, k probes by double hashing
+    private static final class BloomFilter {
+
+        private final AtomicLongArray words;
+
+        private final int numBits;
+
+        private final int numHashes;
+
+        BloomFilter(int expectedEntries, double falsePositiveRate) {
+            double ln2 = Math.log(2);
+            long bits = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (ln2 * ln2));
+            this.numBits = (int) Math.max(64, Math.min(bits, Integer.MAX_VALUE - 63));
+            this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedEntries * ln2));
+            this.words = new AtomicLongArray((numBits + 63) >>> 6);
+        }
+
+        void add(String key) {
+            long hash = hash64(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < numHashes; i++) {
+                int bit = index(h1 + i * h2);
+                words.getAndAccumulate(bit >>> 6, 1L << bit, (word, mask) -> word | mask);
+            }
+        }
+
+        boolean mightContain(String key) {
+            long hash = hash64(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < numHashes; i++) {
+                int bit = index(h1 + i * h2);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int index(int combined) {
+            return (combined & Integer.MAX_VALUE) % numBits;
+        }
+
+        // FNV-1a over the UTF-8 bytes followed by the MurmurHash3 finalizer
+        private static long hash64(String key) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
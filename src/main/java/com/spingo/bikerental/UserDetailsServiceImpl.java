@@ -2,14 +2,20 @@ package com.spingo.bikerental;
 
 import com.spingo.bikerental.User;
 import com.spingo.bikerental.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
+    
+    private static final Logger log = LoggerFactory.getLogger(UserDetailsServiceImpl.class);
     
     @Autowired
     private UserRepository userRepository;
@@ -21,4 +27,19 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         
         return user;
     }
+    
+    // Called by DaoAuthenticationProvider after a successful login whose stored hash is
+    // unprefixed or weaker than the configured encoder (see SecurityConfig.passwordEncoder)
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = (User) userDetails;
+        user.setPassword(newPassword);
+        try {
+            return userRepository.save(user);
+        } catch (OptimisticLockingFailureException e) {
+            // Someone else updated the user meanwhile; the hash is upgraded on the next login
+            log.debug("Skipped password rehash for user {}: {}", user.getId(), e.getMessage());
+            return user;
+        }
+    }
 }
@@ -3,14 +3,21 @@ package com.spingo.bikerental;
 import com.spingo.bikerental.User;
 import com.spingo.bikerental.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    // Called by the JWT filter on every authenticated request
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
     
     boolean existsByEmail(String email);
@@ -20,4 +27,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByIsActiveTrue();
     
     List<User> findByRoleAndIsActiveTrue(UserRole role);
+    
+    long countByRole(UserRole role);
+    
+    long countByIsActiveTrue();
 }
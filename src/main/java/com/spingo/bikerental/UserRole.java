@@ -1,9 +1,20 @@
 package com.spingo.bikerental;
 
-public enum UserRole {
-    ADMIN,
-    CUSTOMER,
-    INDIVIDUAL_OWNER,
-    RENTAL_BUSINESS,
-    DELIVERY_PARTNER
+public enum UserRole implements CodedEnum {
+    ADMIN(1),
+    CUSTOMER(2),
+    INDIVIDUAL_OWNER(3),
+    RENTAL_BUSINESS(4),
+    DELIVERY_PARTNER(5);
+
+    private final short code;
+
+    UserRole(int code) {
+        this.code = (short) code;
+    }
+
+    @Override
+    public short getCode() {
+        return code;
+    }
 }
@@ -0,0 +1,30 @@
+package com.spingo.bikerental.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.util.concurrent.TimeUnit;
+
+// Scripts and stylesheets are referenced as js/app.js?v=<content hash> in the packaged pages
+// (see build-tools/PrecompressStaticAssets.java), so a new deploy always changes the URL and
+// they can be cached for a year. Pages themselves stay on the default /** handler and revalidate.
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        addVersionedAssets(registry, "js");
+        addVersionedAssets(registry, "css");
+    }
+
+    private void addVersionedAssets(ResourceHandlerRegistry registry, String dir) {
+        registry.addResourceHandler("/" + dir + "/**")
+                .addResourceLocations("classpath:/static/" + dir + "/")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+    }
+}
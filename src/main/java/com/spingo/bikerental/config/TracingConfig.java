@@ -0,0 +1,67 @@
+package com.spingo.bikerental.config;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+// HTTP server requests, the Spring Security filter chain, jwt.verify and JDBC statements
+// (datasource-micrometer) are observed out of the box. This adds a span per repository
+// method, so a trace shows which findById/save a query belongs to, and an optional
+// one-line-per-span log exporter for when no OTLP collector is running.
+@Configuration
+public class TracingConfig {
+
+    // Static: BeanPostProcessors are created before regular beans. Only with tracing on, so
+    // repositories carry no extra advice otherwise.
+    @Bean
+    @ConditionalOnProperty(name = "management.tracing.enabled", havingValue = "true")
+    public static BeanPostProcessor repositoryTracingPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory ->
+                        factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(repositorySpan(tracer,
+                                repositoryInformation.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.log-spans", havingValue = "true")
+    public LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+    // Only opens a span inside an existing trace; calls from startup code or schedulers stay untraced
+    private static MethodInterceptor repositorySpan(ObjectProvider<Tracer> tracerProvider, String repositoryName) {
+        return invocation -> {
+            Tracer tracer = tracerProvider.getIfAvailable();
+            if (tracer == null || tracer.currentSpan() == null) {
+                return invocation.proceed();
+            }
+            Span span = tracer.nextSpan()
+                .name(repositoryName + "." + invocation.getMethod().getName())
+                .tag("repository", repositoryName)
+                .start();
+            try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                span.error(e);
+                throw e;
+            } finally {
+                span.end();
+            }
+        };
+    }
+}
@@ -6,13 +6,16 @@ import com.spingo.bikerental.UserRepository;
 import com.spingo.bikerental.JwtUtil;
 import com.spingo.bikerental.LoginRequest;
 import com.spingo.bikerental.LoginResponse;
+import com.spingo.bikerental.dto.RefreshTokenRequest;
+import com.spingo.bikerental.dto.TokenPair;
+import com.spingo.bikerental.service.TokenService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
@@ -36,6 +39,9 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
     
+    @Autowired
+    private TokenService tokenService;
+    
     @PostMapping("/login")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         try {
@@ -48,14 +54,12 @@ public class AuthController {
                     .body(Map.of("error", "Invalid role: " + loginRequest.getRole()));
             }
             
-            // Find user by email
-            User user = userRepository.findByEmail(loginRequest.getEmail())
-                .orElse(null);
-            
-            if (user == null) {
-                return ResponseEntity.badRequest()
-                    .body(Map.of("error", "User not found with email: " + loginRequest.getEmail()));
-            }
+            // One user fetch: the provider loads the user, checks the password and, when the
+            // stored hash is outdated, rehashes it through UserDetailsServiceImpl.updatePassword
+            Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword())
+            );
+            User user = (User) authentication.getPrincipal();
             
             // Check if role matches
             if (!user.getRole().equals(requestedRole)) {
@@ -63,18 +67,13 @@ public class AuthController {
                     .body(Map.of("error", "Role mismatch. Expected: " + requestedRole + ", but user has: " + user.getRole()));
             }
             
-            // Authenticate
-            Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword())
-            );
-            
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-            
-            // Generate JWT token
-            String jwt = jwtUtil.generateToken(user);
+            // Short-lived access token plus a rotating refresh token
+            TokenPair tokens = tokenService.issue(user);
             
             // Create response
-            LoginResponse response = new LoginResponse(jwt, user.getId(), user.getName(), user.getEmail(), user.getRole());
+            LoginResponse response = new LoginResponse(tokens.getAccessToken(), user.getId(), user.getName(), user.getEmail(), user.getRole());
+            response.setRefreshToken(tokens.getRefreshToken());
+            response.setExpiresIn(tokens.getExpiresInSeconds());
             
             return ResponseEntity.ok(response);
             
@@ -84,6 +83,35 @@ public class AuthController {
         }
     }
     
+    // Exchange a refresh token for a new access/refresh pair; the presented token is used up
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@RequestBody RefreshTokenRequest request) {
+        return tokenService.refresh(request.getRefreshToken())
+            .<ResponseEntity<?>>map(tokens -> ResponseEntity.ok(Map.of(
+                "token", tokens.getAccessToken(),
+                "type", "Bearer",
+                "refreshToken", tokens.getRefreshToken(),
+                "expiresIn", tokens.getExpiresInSeconds())))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("error", "Invalid or expired refresh token")));
+    }
+    
+    // Revoke the session's refresh tokens and the access token sent with the request
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody(required = false) RefreshTokenRequest request,
+                                    @RequestHeader(value = "Authorization", required = false) String authorization) {
+        String accessTokenId = null;
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            try {
+                accessTokenId = jwtUtil.parseAccessToken(authorization.substring(7)).getId();
+            } catch (Exception e) {
+                // Expired or invalid: nothing left to revoke
+            }
+        }
+        tokenService.logout(request != null ? request.getRefreshToken() : null, accessTokenId);
+        return ResponseEntity.ok(Map.of("message", "Logged out"));
+    }
+    
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@Valid @RequestBody User user) {
         try {
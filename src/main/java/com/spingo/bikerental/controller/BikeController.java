@@ -3,16 +3,28 @@ package com.spingo.bikerental.controller;
 import com.spingo.bikerental.Bike;
 import com.spingo.bikerental.BikeStatus;
 import com.spingo.bikerental.BikeType;
-import com.spingo.bikerental.BikeRepository;
+import com.spingo.bikerental.User;
+import com.spingo.bikerental.dto.BikeImportResult;
 import com.spingo.bikerental.dto.BikeDto;
+import com.spingo.bikerental.search.BikeSuggestIndex;
+import com.spingo.bikerental.service.BikeImportService;
+import com.spingo.bikerental.service.BikeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 
@@ -21,17 +33,25 @@ import java.util.Optional;
 @CrossOrigin(origins = "*")
 public class BikeController {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private static final int MAX_SEARCH_RESULTS = 100;
+
+    private static final double MAX_NEARBY_RADIUS_KM = 50;
+
+    private static final int MAX_SUGGESTIONS = 50;
+
     @Autowired
-    private BikeRepository bikeRepository;
+    private BikeService bikeService;
+
+    @Autowired
+    private BikeImportService bikeImportService;
 
     // Get all bikes (public access)
     @GetMapping
     public ResponseEntity<List<BikeDto>> getAllBikes() {
         try {
-            List<Bike> bikes = bikeRepository.findByIsActiveTrue();
-            List<BikeDto> bikeDtos = bikes.stream()
-                .map(BikeDto::new)
-                .toList();
+            List<BikeDto> bikeDtos = bikeService.getActiveBikes();
             return ResponseEntity.ok(bikeDtos);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -43,10 +63,7 @@ public class BikeController {
     @GetMapping("/available")
     public ResponseEntity<List<BikeDto>> getAvailableBikes() {
         try {
-            List<Bike> bikes = bikeRepository.findByIsActiveTrueAndStatus(BikeStatus.AVAILABLE);
-            List<BikeDto> bikeDtos = bikes.stream()
-                .map(BikeDto::new)
-                .toList();
+            List<BikeDto> bikeDtos = bikeService.getAvailableBikes();
             return ResponseEntity.ok(bikeDtos);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -58,10 +75,9 @@ public class BikeController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getBikeById(@PathVariable Long id) {
         try {
-            Optional<Bike> bike = bikeRepository.findById(id);
-            if (bike.isPresent()) {
-                BikeDto bikeDto = new BikeDto(bike.get());
-                return ResponseEntity.ok(bikeDto);
+            Optional<BikeDto> bikeDto = bikeService.getBikeById(id);
+            if (bikeDto.isPresent()) {
+                return ResponseEntity.ok(bikeDto.get());
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -76,7 +92,7 @@ public class BikeController {
     @PreAuthorize("hasAnyRole('ADMIN', 'INDIVIDUAL_OWNER', 'RENTAL_BUSINESS')")
     public ResponseEntity<?> createBike(@Valid @RequestBody Bike bike) {
         try {
-            Bike savedBike = bikeRepository.save(bike);
+            Bike savedBike = bikeService.createBike(bike);
             return ResponseEntity.ok(savedBike);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -84,31 +100,37 @@ public class BikeController {
         }
     }
 
+    // Bulk import bikes from a CSV (with header row) or NDJSON body, streamed line by line
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasAnyRole('ADMIN', 'INDIVIDUAL_OWNER', 'RENTAL_BUSINESS')")
+    public ResponseEntity<?> importBikes(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                         @AuthenticationPrincipal User owner,
+                                         InputStream body) {
+        try {
+            BikeImportResult result = MediaType.parseMediaType(contentType).isCompatibleWith(TEXT_CSV)
+                ? bikeImportService.importCsv(body, owner)
+                : bikeImportService.importNdjson(body, owner);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to import bikes: " + e.getMessage()));
+        }
+    }
+
     // Update bike (Admin, Individual Owner, Rental Business only)
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'INDIVIDUAL_OWNER', 'RENTAL_BUSINESS')")
     public ResponseEntity<?> updateBike(@PathVariable Long id, @Valid @RequestBody Bike bikeDetails) {
         try {
-            Optional<Bike> bikeOptional = bikeRepository.findById(id);
-            if (bikeOptional.isEmpty()) {
+            Optional<Bike> updatedBike = bikeService.updateBike(id, bikeDetails);
+            if (updatedBike.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
-
-            Bike bike = bikeOptional.get();
-            bike.setBrand(bikeDetails.getBrand());
-            bike.setModel(bikeDetails.getModel());
-            bike.setYear(bikeDetails.getYear());
-            bike.setType(bikeDetails.getType());
-            bike.setCity(bikeDetails.getCity());
-            bike.setPricePerHour(bikeDetails.getPricePerHour());
-            bike.setPricePerDay(bikeDetails.getPricePerDay());
-            bike.setPricePerMonth(bikeDetails.getPricePerMonth());
-            bike.setDescription(bikeDetails.getDescription());
-            bike.setImageUrl(bikeDetails.getImageUrl());
-            bike.setStatus(bikeDetails.getStatus());
-
-            Bike updatedBike = bikeRepository.save(bike);
-            return ResponseEntity.ok(updatedBike);
+            return ResponseEntity.ok(updatedBike.get());
+        } catch (OptimisticLockingFailureException e) {
+            BikeDto current = bikeService.getBikeById(id).orElse(null);
+            return ConflictResponse.of("Bike was modified by someone else",
+                current, current != null ? current.getVersion() : null);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(Map.of("error", "Failed to update bike: " + e.getMessage()));
@@ -119,10 +141,9 @@ public class BikeController {
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteBike(@PathVariable Long id) {
-        if (!bikeRepository.existsById(id)) {
+        if (!bikeService.deleteBike(id)) {
             return ResponseEntity.notFound().build();
         }
-        bikeRepository.deleteById(id);
         return ResponseEntity.ok().build();
     }
 
@@ -130,10 +151,7 @@ public class BikeController {
     @GetMapping("/status/{status}")
     public ResponseEntity<List<BikeDto>> getBikesByStatus(@PathVariable BikeStatus status) {
         try {
-            List<Bike> bikes = bikeRepository.findByStatus(status);
-            List<BikeDto> bikeDtos = bikes.stream()
-                .map(BikeDto::new)
-                .toList();
+            List<BikeDto> bikeDtos = bikeService.getBikesByStatus(status);
             return ResponseEntity.ok(bikeDtos);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -145,10 +163,7 @@ public class BikeController {
     @GetMapping("/type/{type}")
     public ResponseEntity<List<BikeDto>> getBikesByType(@PathVariable BikeType type) {
         try {
-            List<Bike> bikes = bikeRepository.findByType(type);
-            List<BikeDto> bikeDtos = bikes.stream()
-                .map(BikeDto::new)
-                .toList();
+            List<BikeDto> bikeDtos = bikeService.getBikesByType(type);
             return ResponseEntity.ok(bikeDtos);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -160,10 +175,7 @@ public class BikeController {
     @GetMapping("/city/{city}")
     public ResponseEntity<List<BikeDto>> getBikesByCity(@PathVariable String city) {
         try {
-            List<Bike> bikes = bikeRepository.findByCity(city);
-            List<BikeDto> bikeDtos = bikes.stream()
-                .map(BikeDto::new)
-                .toList();
+            List<BikeDto> bikeDtos = bikeService.getBikesByCity(city);
             return ResponseEntity.ok(bikeDtos);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -175,10 +187,7 @@ public class BikeController {
     @GetMapping("/brand/{brand}")
     public ResponseEntity<List<BikeDto>> getBikesByBrand(@PathVariable String brand) {
         try {
-            List<Bike> bikes = bikeRepository.findByBrand(brand);
-            List<BikeDto> bikeDtos = bikes.stream()
-                .map(BikeDto::new)
-                .toList();
+            List<BikeDto> bikeDtos = bikeService.getBikesByBrand(brand);
             return ResponseEntity.ok(bikeDtos);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -195,10 +204,7 @@ public class BikeController {
             @RequestParam(required = false) BikeStatus status) {
         
         try {
-            List<Bike> bikes = bikeRepository.findBikesWithFilters(city, type, brand, status);
-            List<BikeDto> bikeDtos = bikes.stream()
-                .map(BikeDto::new)
-                .toList();
+            List<BikeDto> bikeDtos = bikeService.filterBikes(city, type, brand, status);
             return ResponseEntity.ok(bikeDtos);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -206,18 +212,73 @@ public class BikeController {
         }
     }
 
+    // Full-text search over brand, model, city, type and description (public access).
+    // Tolerates typos and partial words; facets count all matches, limit caps the page.
+    @GetMapping("/search")
+    public ResponseEntity<?> searchBikes(
+            @RequestParam String q,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) BikeType type,
+            @RequestParam(required = false) String brand,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Search query must not be empty"));
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        return ResponseEntity.ok(bikeService.searchBikes(q, city, brand, type, pageSize));
+    }
+
+    // Typeahead over distinct city, brand or model values with bike counts, most common first
+    // (public access). An empty prefix lists the top values, e.g. to fill a filter dropdown.
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(
+            @RequestParam String field,
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        BikeSuggestIndex.Field suggestField;
+        try {
+            suggestField = BikeSuggestIndex.Field.valueOf(field.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "field must be one of city, brand, model"));
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        return ResponseEntity.ok(bikeService.suggest(suggestField, prefix, pageSize));
+    }
+
+    // Nearest bookable bikes to a point, closest first, each with distanceKm (public access).
+    // With start and end (ISO date-times) only bikes free for that whole window are returned.
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbyBikes(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "lat must be within [-90, 90] and lon within [-180, 180]"));
+        }
+        if (!(radiusKm > 0 && radiusKm <= MAX_NEARBY_RADIUS_KM)) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "radiusKm must be greater than 0 and at most " + MAX_NEARBY_RADIUS_KM));
+        }
+        if ((start == null) != (end == null) || (start != null && !start.isBefore(end))) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "start and end must be given together, with start before end"));
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        return ResponseEntity.ok(bikeService.findNearbyBikes(lat, lon, radiusKm, start, end, pageSize));
+    }
+
     // Get popular bikes (public access)
     @GetMapping("/popular")
     public ResponseEntity<List<BikeDto>> getPopularBikes() {
         try {
             // Get first 3 available bikes as popular bikes
-            List<Bike> popularBikes = bikeRepository.findByIsActiveTrueAndStatus(BikeStatus.AVAILABLE)
-                    .stream()
-                    .limit(3)
-                    .toList();
-            List<BikeDto> bikeDtos = popularBikes.stream()
-                .map(BikeDto::new)
-                .toList();
+            List<BikeDto> bikeDtos = bikeService.getPopularBikes(3);
             return ResponseEntity.ok(bikeDtos);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -232,7 +293,7 @@ public class BikeController {
             @RequestParam String startDate,
             @RequestParam String endDate) {
         
-        Optional<Bike> bikeOptional = bikeRepository.findById(id);
+        Optional<Bike> bikeOptional = bikeService.findBike(id);
         if (bikeOptional.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
@@ -0,0 +1,34 @@
+package com.spingo.bikerental.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 409 body for optimistic-lock conflicts: returns the current state so the client can
+// re-apply its change on top of it and resend with the new version.
+final class ConflictResponse {
+
+    static final String RETRY_GUIDANCE =
+        "Reload the resource (or use 'current' below), re-apply your changes and resend with 'version' set to currentVersion";
+
+    private ConflictResponse() {
+    }
+
+    static ResponseEntity<Map<String, Object>> of(String message, Object current, Long currentVersion) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", message);
+        body.put("retry", RETRY_GUIDANCE);
+        if (current != null) {
+            body.put("currentVersion", currentVersion);
+            body.put("current", current);
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.CONFLICT);
+        if (currentVersion != null) {
+            builder.eTag("\"" + currentVersion + "\"");
+        }
+        return builder.body(body);
+    }
+}
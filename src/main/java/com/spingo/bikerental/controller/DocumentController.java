@@ -0,0 +1,94 @@
+package com.spingo.bikerental.controller;
+
+import com.spingo.bikerental.Document;
+import com.spingo.bikerental.DocumentType;
+import com.spingo.bikerental.User;
+import com.spingo.bikerental.UserRole;
+import com.spingo.bikerental.service.DocumentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/documents")
+@CrossOrigin(origins = "*")
+public class DocumentController {
+
+    @Autowired
+    private DocumentService documentService;
+
+    // Upload one or more documents; each multipart field is named after its type
+    // (license, aadhaar, pan, bank) as sent by documents.js
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> uploadDocuments(@AuthenticationPrincipal User user,
+                                             MultipartHttpServletRequest request) {
+        Map<String, MultipartFile> files = request.getFileMap();
+        if (files.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "No documents uploaded"));
+        }
+        try {
+            List<Document> stored = new ArrayList<>(files.size());
+            for (Map.Entry<String, MultipartFile> entry : files.entrySet()) {
+                DocumentType type = DocumentType.fromFieldName(entry.getKey());
+                stored.add(documentService.store(user, type, entry.getValue()));
+            }
+            return ResponseEntity.ok(stored);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to store document: " + e.getMessage()));
+        }
+    }
+
+    // Current user's documents, newest first
+    @GetMapping
+    public ResponseEntity<List<Document>> getMyDocuments(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(documentService.getDocumentsForUser(user.getId()));
+    }
+
+    // Download a document (owner or admin). Returning a Resource lets Spring MVC answer
+    // Range requests with 206 partial content and If-None-Match with 304.
+    @GetMapping("/{id}/content")
+    public ResponseEntity<?> downloadDocument(@PathVariable Long id, @AuthenticationPrincipal User user) {
+        Optional<Document> found = documentService.findDocument(id);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Document document = found.get();
+        if (!document.getUserId().equals(user.getId()) && user.getRole() != UserRole.ADMIN) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(Map.of("error", "Not allowed to access this document"));
+        }
+
+        Path path = documentService.contentPath(document);
+        if (!Files.isRegularFile(path)) {
+            return ResponseEntity.notFound().build();
+        }
+        ContentDisposition disposition = ContentDisposition.inline()
+            .filename(document.getOriginalFilename() != null ? document.getOriginalFilename() : document.getSha256())
+            .build();
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(document.getContentType()))
+            .eTag(document.getSha256())
+            .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+            .header(HttpHeaders.CACHE_CONTROL, "private, max-age=3600")
+            .body(new FileSystemResource(path));
+    }
+}
@@ -0,0 +1,105 @@
+package com.spingo.bikerental.controller;
+
+import com.spingo.bikerental.service.ImageService;
+import com.spingo.bikerental.service.ImageService.Variant;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@CrossOrigin(origins = "*")
+public class ImageController {
+
+    // Content-hashed names never change content, so caches may keep them for a year
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    @Autowired
+    private ImageService imageService;
+
+    // Upload a bike image; variants are rendered immediately
+    @PostMapping("/api/images")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INDIVIDUAL_OWNER', 'RENTAL_BUSINESS')")
+    public ResponseEntity<?> uploadImage(@RequestParam("file") MultipartFile file) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Image file is empty"));
+        }
+        try (InputStream input = file.getInputStream()) {
+            String imageUrl = imageService.store(input, file.getOriginalFilename());
+            Map<String, String> response = new LinkedHashMap<>();
+            response.put("imageUrl", imageUrl);
+            for (Variant variant : Variant.values()) {
+                response.put(variant.suffix() + "Url", imageService.variantUrl(imageUrl, variant));
+            }
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to store image: " + e.getMessage()));
+        }
+    }
+
+    // Serve a stored original or variant, rendering the variant on first request
+    @GetMapping(ImageService.MEDIA_PREFIX + "{fileName:.+}")
+    public void serveImage(@PathVariable String fileName, HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+        Optional<Path> file = imageService.resolve(fileName);
+        if (file.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        Path path = file.get();
+        String etag = "\"" + path.getFileName() + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        // Browsers must not guess a type, and only raster images are rendered inline
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        Optional<MediaType> imageType = ImageService.imageType(path.getFileName().toString());
+        if (imageType.isEmpty()) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment");
+        }
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            response.setContentType(imageType.orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+            response.setContentLengthLong(size);
+
+            // Tomcat NIO can hand the file to the kernel (sendfile) after the servlet returns
+            if (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+                request.setAttribute("org.apache.tomcat.sendfile.filename", path.toAbsolutePath().toString());
+                request.setAttribute("org.apache.tomcat.sendfile.start", 0L);
+                request.setAttribute("org.apache.tomcat.sendfile.end", size);
+                return;
+            }
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
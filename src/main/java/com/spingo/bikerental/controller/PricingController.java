@@ -0,0 +1,52 @@
+package com.spingo.bikerental.controller;
+
+import com.spingo.bikerental.BikeType;
+import com.spingo.bikerental.DemandPricingHistory;
+import com.spingo.bikerental.dto.QuoteRequest;
+import com.spingo.bikerental.pricing.DemandMultipliers;
+import com.spingo.bikerental.service.PricingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/pricing")
+@CrossOrigin(origins = "*")
+public class PricingController {
+
+    @Autowired
+    private PricingService pricingService;
+
+    // Price one rental window for up to 200 bikes, keyed by bike id (public access).
+    // Totals are what a booking for the same window would be charged.
+    @PostMapping("/quote")
+    public ResponseEntity<?> quote(@RequestBody QuoteRequest request) {
+        try {
+            return ResponseEntity.ok(pricingService.quote(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Demand multipliers currently in force, per city and bike type for each hour of the week
+    @GetMapping("/demand")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DemandMultipliers.Snapshot> getDemandMultipliers() {
+        return ResponseEntity.ok(pricingService.currentDemandMultipliers());
+    }
+
+    // Published demand multipliers, newest first, optionally for one city and/or bike type
+    @GetMapping("/demand/history")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<DemandPricingHistory>> getDemandHistory(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) BikeType type,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(pricingService.demandHistory(city, type, limit));
+    }
+}
@@ -3,7 +3,10 @@ package com.spingo.bikerental.controller;
 import com.spingo.bikerental.User;
 import com.spingo.bikerental.UserRepository;
 import com.spingo.bikerental.UserRole;
+import com.spingo.bikerental.service.TokenService;
+import com.spingo.bikerental.service.VersionCheck;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,6 +28,9 @@ public class UserController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TokenService tokenService;
+
     // Get all users (Admin only)
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -61,7 +67,7 @@ public class UserController {
 
     // Update user
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable Long id, @Valid @RequestBody User userDetails) {
+    public ResponseEntity<?> updateUser(@PathVariable Long id, @Valid @RequestBody User userDetails) {
         Optional<User> userOptional = userRepository.findById(id);
         if (userOptional.isEmpty()) {
             return ResponseEntity.notFound().build();
@@ -76,8 +82,17 @@ public class UserController {
             user.setPassword(passwordEncoder.encode(userDetails.getPassword()));
         }
 
-        User updatedUser = userRepository.save(user);
-        return ResponseEntity.ok(updatedUser);
+        try {
+            VersionCheck.require(User.class, id, user.getVersion(), userDetails.getVersion());
+
+            // save() merges the detached user; a concurrent update since findById fails the version check
+            User updatedUser = userRepository.save(user);
+            return ResponseEntity.ok(updatedUser);
+        } catch (OptimisticLockingFailureException e) {
+            User current = userRepository.findById(id).orElse(null);
+            return ConflictResponse.of("User was modified by someone else",
+                current, current != null ? current.getVersion() : null);
+        }
     }
 
     // Delete user (Admin only)
@@ -87,6 +102,8 @@ public class UserController {
         if (!userRepository.existsById(id)) {
             return ResponseEntity.notFound().build();
         }
+        // Refresh tokens reference the user; current access tokens stop working at once
+        tokenService.deleteUserTokens(id);
         userRepository.deleteById(id);
         return ResponseEntity.ok().build();
     }
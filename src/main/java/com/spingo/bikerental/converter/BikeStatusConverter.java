@@ -0,0 +1,12 @@
+package com.spingo.bikerental.converter;
+
+import com.spingo.bikerental.BikeStatus;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class BikeStatusConverter extends CodedEnumConverter<BikeStatus> {
+
+    public BikeStatusConverter() {
+        super(BikeStatus.class);
+    }
+}
@@ -0,0 +1,12 @@
+package com.spingo.bikerental.converter;
+
+import com.spingo.bikerental.BikeType;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class BikeTypeConverter extends CodedEnumConverter<BikeType> {
+
+    public BikeTypeConverter() {
+        super(BikeType.class);
+    }
+}
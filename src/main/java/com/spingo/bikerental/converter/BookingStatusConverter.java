@@ -0,0 +1,12 @@
+package com.spingo.bikerental.converter;
+
+import com.spingo.bikerental.BookingStatus;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class BookingStatusConverter extends CodedEnumConverter<BookingStatus> {
+
+    public BookingStatusConverter() {
+        super(BookingStatus.class);
+    }
+}
@@ -0,0 +1,47 @@
+package com.spingo.bikerental.converter;
+
+import com.spingo.bikerental.CodedEnum;
+import jakarta.persistence.AttributeConverter;
+
+import java.lang.reflect.Array;
+
+// Maps a CodedEnum to its TINYINT code, with an array lookup on the read path
+public abstract class CodedEnumConverter<E extends Enum<E> & CodedEnum> implements AttributeConverter<E, Short> {
+
+    private final Class<E> enumType;
+    private final E[] byCode;
+
+    @SuppressWarnings("unchecked")
+    protected CodedEnumConverter(Class<E> enumType) {
+        this.enumType = enumType;
+        E[] constants = enumType.getEnumConstants();
+        int maxCode = 0;
+        for (E constant : constants) {
+            maxCode = Math.max(maxCode, constant.getCode());
+        }
+        this.byCode = (E[]) Array.newInstance(enumType, maxCode + 1);
+        for (E constant : constants) {
+            if (byCode[constant.getCode()] != null) {
+                throw new IllegalStateException("Duplicate code " + constant.getCode() + " in " + enumType.getSimpleName());
+            }
+            byCode[constant.getCode()] = constant;
+        }
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(E attribute) {
+        return attribute == null ? null : attribute.getCode();
+    }
+
+    @Override
+    public E convertToEntityAttribute(Short dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        E value = dbData >= 0 && dbData < byCode.length ? byCode[dbData] : null;
+        if (value == null) {
+            throw new IllegalArgumentException("Unknown " + enumType.getSimpleName() + " code: " + dbData);
+        }
+        return value;
+    }
+}
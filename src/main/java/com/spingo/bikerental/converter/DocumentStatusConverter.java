@@ -0,0 +1,12 @@
+package com.spingo.bikerental.converter;
+
+import com.spingo.bikerental.DocumentStatus;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class DocumentStatusConverter extends CodedEnumConverter<DocumentStatus> {
+
+    public DocumentStatusConverter() {
+        super(DocumentStatus.class);
+    }
+}
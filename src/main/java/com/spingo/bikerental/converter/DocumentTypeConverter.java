@@ -0,0 +1,12 @@
+package com.spingo.bikerental.converter;
+
+import com.spingo.bikerental.DocumentType;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class DocumentTypeConverter extends CodedEnumConverter<DocumentType> {
+
+    public DocumentTypeConverter() {
+        super(DocumentType.class);
+    }
+}
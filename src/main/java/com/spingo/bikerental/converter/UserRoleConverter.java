@@ -0,0 +1,12 @@
+package com.spingo.bikerental.converter;
+
+import com.spingo.bikerental.UserRole;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class UserRoleConverter extends CodedEnumConverter<UserRole> {
+
+    public UserRoleConverter() {
+        super(UserRole.class);
+    }
+}
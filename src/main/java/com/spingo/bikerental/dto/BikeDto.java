@@ -16,15 +16,24 @@ public class BikeDto {
     private Integer year;
     private BikeType type;
     private String city;
+    private Double latitude;
+    private Double longitude;
+    // Set by /api/bikes/nearby only
+    private Double distanceKm;
     private BigDecimal pricePerHour;
     private BigDecimal pricePerDay;
     private BigDecimal pricePerMonth;
+    private Boolean dynamicPricing;
     private String description;
     private BikeStatus status;
     private String imageUrl;
+    private String thumbnailUrl;
+    private String cardUrl;
+    private String detailUrl;
     private Boolean isActive;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
     
     // Owner information (simplified)
     private Long ownerId;
@@ -41,15 +50,19 @@ public class BikeDto {
         this.year = bike.getYear();
         this.type = bike.getType();
         this.city = bike.getCity();
+        this.latitude = bike.getLatitude();
+        this.longitude = bike.getLongitude();
         this.pricePerHour = bike.getPricePerHour();
         this.pricePerDay = bike.getPricePerDay();
         this.pricePerMonth = bike.getPricePerMonth();
+        this.dynamicPricing = bike.getDynamicPricing();
         this.description = bike.getDescription();
         this.status = bike.getStatus();
         this.imageUrl = bike.getImageUrl();
         this.isActive = bike.getIsActive();
         this.createdAt = bike.getCreatedAt();
         this.updatedAt = bike.getUpdatedAt();
+        this.version = bike.getVersion();
         
         // Set owner information safely
         if (bike.getOwner() != null) {
@@ -78,6 +91,15 @@ public class BikeDto {
     public String getCity() { return city; }
     public void setCity(String city) { this.city = city; }
     
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    
+    public Double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(Double distanceKm) { this.distanceKm = distanceKm; }
+    
     public BigDecimal getPricePerHour() { return pricePerHour; }
     public void setPricePerHour(BigDecimal pricePerHour) { this.pricePerHour = pricePerHour; }
     
@@ -87,6 +109,9 @@ public class BikeDto {
     public BigDecimal getPricePerMonth() { return pricePerMonth; }
     public void setPricePerMonth(BigDecimal pricePerMonth) { this.pricePerMonth = pricePerMonth; }
     
+    public Boolean getDynamicPricing() { return dynamicPricing; }
+    public void setDynamicPricing(Boolean dynamicPricing) { this.dynamicPricing = dynamicPricing; }
+    
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
     
@@ -96,6 +121,15 @@ public class BikeDto {
     public String getImageUrl() { return imageUrl; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
     
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
+    
+    public String getCardUrl() { return cardUrl; }
+    public void setCardUrl(String cardUrl) { this.cardUrl = cardUrl; }
+    
+    public String getDetailUrl() { return detailUrl; }
+    public void setDetailUrl(String detailUrl) { this.detailUrl = detailUrl; }
+    
     public Boolean getIsActive() { return isActive; }
     public void setIsActive(Boolean isActive) { this.isActive = isActive; }
     
@@ -105,6 +139,9 @@ public class BikeDto {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
     public Long getOwnerId() { return ownerId; }
     public void setOwnerId(Long ownerId) { this.ownerId = ownerId; }
     
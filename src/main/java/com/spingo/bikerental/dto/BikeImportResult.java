@@ -0,0 +1,52 @@
+package com.spingo.bikerental.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Summary returned by POST /api/bikes/import, with a per-row error report
+public class BikeImportResult {
+    
+    // Keeps the response bounded when a whole file is malformed
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    
+    private long imported;
+    private long failed;
+    private boolean errorsTruncated;
+    private List<RowError> errors = new ArrayList<>();
+    
+    public void addImported(long count) {
+        this.imported += count;
+    }
+    
+    public void addError(long line, List<String> messages) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(line, messages));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+    
+    // Getters
+    public long getImported() { return imported; }
+    
+    public long getFailed() { return failed; }
+    
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    
+    public List<RowError> getErrors() { return errors; }
+    
+    public static class RowError {
+        private final long line;
+        private final List<String> messages;
+        
+        public RowError(long line, List<String> messages) {
+            this.line = line;
+            this.messages = messages;
+        }
+        
+        public long getLine() { return line; }
+        
+        public List<String> getMessages() { return messages; }
+    }
+}
@@ -0,0 +1,30 @@
+package com.spingo.bikerental.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// Result of GET /api/bikes/search: the best matches in relevance order, the total number of
+// matches and facet counts (city, brand, type, status) over all of them
+public class BikeSearchResponse {
+
+    private final String query;
+    private final int total;
+    private final List<BikeDto> bikes;
+    private final Map<String, Map<String, Long>> facets;
+
+    public BikeSearchResponse(String query, int total, List<BikeDto> bikes, Map<String, Map<String, Long>> facets) {
+        this.query = query;
+        this.total = total;
+        this.bikes = bikes;
+        this.facets = facets;
+    }
+
+    // Getters
+    public String getQuery() { return query; }
+
+    public int getTotal() { return total; }
+
+    public List<BikeDto> getBikes() { return bikes; }
+
+    public Map<String, Map<String, Long>> getFacets() { return facets; }
+}
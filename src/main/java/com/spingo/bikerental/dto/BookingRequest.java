@@ -0,0 +1,29 @@
+package com.spingo.bikerental.dto;
+
+import java.time.LocalDateTime;
+
+// DTO for booking requests; pickupDate/dropoffDate carry the full date and time
+public class BookingRequest {
+    private Long userId;
+    private Long bikeId;
+    private LocalDateTime pickupDate;
+    private LocalDateTime dropoffDate;
+    // Version the client last read; when present, updates against a newer version are rejected
+    private Long version;
+
+    // Getters and setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public Long getBikeId() { return bikeId; }
+    public void setBikeId(Long bikeId) { this.bikeId = bikeId; }
+    
+    public LocalDateTime getPickupDate() { return pickupDate; }
+    public void setPickupDate(LocalDateTime pickupDate) { this.pickupDate = pickupDate; }
+    
+    public LocalDateTime getDropoffDate() { return dropoffDate; }
+    public void setDropoffDate(LocalDateTime dropoffDate) { this.dropoffDate = dropoffDate; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
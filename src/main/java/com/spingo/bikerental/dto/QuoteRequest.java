@@ -0,0 +1,21 @@
+package com.spingo.bikerental.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// DTO for POST /api/pricing/quote: one rental window priced for several bikes
+public class QuoteRequest {
+    private List<Long> bikeIds;
+    private LocalDateTime pickupDate;
+    private LocalDateTime dropoffDate;
+
+    // Getters and setters
+    public List<Long> getBikeIds() { return bikeIds; }
+    public void setBikeIds(List<Long> bikeIds) { this.bikeIds = bikeIds; }
+    
+    public LocalDateTime getPickupDate() { return pickupDate; }
+    public void setPickupDate(LocalDateTime pickupDate) { this.pickupDate = pickupDate; }
+    
+    public LocalDateTime getDropoffDate() { return dropoffDate; }
+    public void setDropoffDate(LocalDateTime dropoffDate) { this.dropoffDate = dropoffDate; }
+}
@@ -0,0 +1,10 @@
+package com.spingo.bikerental.dto;
+
+// Body of /api/auth/refresh and /api/auth/logout
+public class RefreshTokenRequest {
+    private String refreshToken;
+
+    // Getters and setters
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
+}
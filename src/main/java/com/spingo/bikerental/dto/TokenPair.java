@@ -0,0 +1,21 @@
+package com.spingo.bikerental.dto;
+
+// A freshly issued access token and the refresh token that replaces it when it expires
+public class TokenPair {
+    private final String accessToken;
+    private final String refreshToken;
+    private final long expiresInSeconds;
+
+    public TokenPair(String accessToken, String refreshToken, long expiresInSeconds) {
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+        this.expiresInSeconds = expiresInSeconds;
+    }
+
+    // Getters
+    public String getAccessToken() { return accessToken; }
+
+    public String getRefreshToken() { return refreshToken; }
+
+    public long getExpiresInSeconds() { return expiresInSeconds; }
+}
@@ -0,0 +1,75 @@
+package com.spingo.bikerental.expiry;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// booking.expiry.* in application.properties. The durations are also read by the @Scheduled
+// methods of PendingBookingExpiry.
+@ConfigurationProperties(prefix = "booking.expiry")
+public class BookingExpiryProperties {
+
+    private boolean enabled = true;
+
+    // Unpaid PENDING bookings older than this are cancelled and their bike released
+    private Duration ttl = Duration.ofMinutes(15);
+
+    // Timing wheel resolution: a booking expires at most one tick late
+    private Duration tick = Duration.ofSeconds(1);
+
+    // Buckets in the wheel; deadlines more than tick x wheel-size away just wait extra turns
+    private int wheelSize = 512;
+
+    // Safety net for bookings the wheel never saw (other instances, lost events)
+    private Duration sweepInterval = Duration.ofMinutes(5);
+
+    private int batchSize = 500;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public Duration getTick() {
+        return tick;
+    }
+
+    public void setTick(Duration tick) {
+        this.tick = tick;
+    }
+
+    public int getWheelSize() {
+        return wheelSize;
+    }
+
+    public void setWheelSize(int wheelSize) {
+        this.wheelSize = wheelSize;
+    }
+
+    public Duration getSweepInterval() {
+        return sweepInterval;
+    }
+
+    public void setSweepInterval(Duration sweepInterval) {
+        this.sweepInterval = sweepInterval;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
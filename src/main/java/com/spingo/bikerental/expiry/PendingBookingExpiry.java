@@ -0,0 +1,141 @@
+package com.spingo.bikerental.expiry;
+
+import com.spingo.bikerental.BookingRepository;
+import com.spingo.bikerental.BookingStatus;
+import com.spingo.bikerental.service.BookingPendingEvent;
+import com.spingo.bikerental.service.BookingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+// Cancels PENDING bookings that are not confirmed within booking.expiry.ttl, releasing the
+// bike. Each pending booking sits in an in-memory TimingWheel keyed by its deadline, so the
+// once-a-tick check costs nothing when nothing is due and expiry is at most a tick late.
+// The wheel is rebuilt from the database at startup and fed by BookingPendingEvent; a
+// periodic keyset-paged sweep cancels anything it missed (bookings created on another
+// instance, an event lost to a crash). Expiry goes through BookingService, which re-checks
+// the status, so confirmed or cancelled bookings left in the wheel are harmless.
+@Component
+@EnableConfigurationProperties(BookingExpiryProperties.class)
+public class PendingBookingExpiry {
+
+    private static final Logger log = LoggerFactory.getLogger(PendingBookingExpiry.class);
+
+    private final BookingExpiryProperties properties;
+
+    private final BookingRepository bookingRepository;
+
+    private final BookingService bookingService;
+
+    // Guarded by itself
+    private final TimingWheel wheel;
+
+    public PendingBookingExpiry(BookingExpiryProperties properties, BookingRepository bookingRepository,
+                                BookingService bookingService) {
+        this.properties = properties;
+        this.bookingRepository = bookingRepository;
+        this.bookingService = bookingService;
+        this.wheel = new TimingWheel(properties.getTick().toMillis(), properties.getWheelSize(),
+            System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        List<BookingRepository.CreatedAt> pending = bookingRepository.findCreatedAtByStatus(BookingStatus.PENDING);
+        synchronized (wheel) {
+            for (BookingRepository.CreatedAt booking : pending) {
+                wheel.schedule(booking.getId(), deadline(booking.getCreatedAt()));
+            }
+        }
+        log.info("Booking expiry scheduled {} pending bookings", pending.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingPending(BookingPendingEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        synchronized (wheel) {
+            wheel.schedule(event.bookingId(), deadline(event.createdAt()));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${booking.expiry.tick:PT1S}")
+    public void tick() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        List<Long> due;
+        synchronized (wheel) {
+            due = wheel.advance(System.currentTimeMillis());
+        }
+        if (!due.isEmpty()) {
+            int expired = expire(due);
+            log.debug("Booking expiry: {} due, {} cancelled", due.size(), expired);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${booking.expiry.sweep-interval:PT5M}",
+               fixedDelayString = "${booking.expiry.sweep-interval:PT5M}")
+    public void sweep() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDateTime createdBefore = LocalDateTime.now().minus(properties.getTtl());
+        PageRequest page = PageRequest.of(0, properties.getBatchSize());
+        int expired = 0;
+        long afterId = 0;
+        List<Long> ids;
+        do {
+            ids = bookingRepository.findIdsByStatusCreatedBefore(BookingStatus.PENDING, createdBefore, afterId, page);
+            if (ids.isEmpty()) {
+                break;
+            }
+            expired += expire(ids);
+            afterId = ids.get(ids.size() - 1);
+        } while (ids.size() == page.getPageSize());
+        if (expired > 0) {
+            log.info("Booking expiry sweep cancelled {} stale pending bookings", expired);
+        }
+    }
+
+    // One transaction per batch; a batch that loses a race with a confirm or cancel on one of
+    // its bookings is retried a booking at a time
+    private int expire(List<Long> ids) {
+        LocalDateTime createdBefore = LocalDateTime.now().minus(properties.getTtl());
+        int expired = 0;
+        for (int i = 0; i < ids.size(); i += properties.getBatchSize()) {
+            List<Long> batch = ids.subList(i, Math.min(i + properties.getBatchSize(), ids.size()));
+            try {
+                expired += bookingService.expirePendingBookings(batch, createdBefore);
+            } catch (OptimisticLockingFailureException e) {
+                for (Long id : batch) {
+                    try {
+                        expired += bookingService.expirePendingBookings(List.of(id), createdBefore);
+                    } catch (OptimisticLockingFailureException retry) {
+                        log.debug("Booking {} changed while expiring it, leaving it to the next sweep", id);
+                    }
+                }
+            }
+        }
+        return expired;
+    }
+
+    private long deadline(LocalDateTime createdAt) {
+        return createdAt.plus(properties.getTtl()).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
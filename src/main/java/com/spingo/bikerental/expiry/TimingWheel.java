@@ -0,0 +1,107 @@
+package com.spingo.bikerental.expiry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// Hashed timing wheel of ids: a deadline lands in bucket (deadline tick mod size), so
+// scheduling and cancelling are O(1) and a tick only scans one bucket, no matter how many
+// ids are waiting. Entries for later turns of the wheel stay in their bucket until their
+// tick comes round. Not thread-safe; callers synchronize.
+final class TimingWheel {
+
+    private final long tickMillis;
+
+    private final long originMillis;
+
+    private final List<List<Entry>> buckets;
+
+    private final int mask;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    // Last tick processed, counted from originMillis
+    private long currentTick;
+
+    TimingWheel(long tickMillis, int wheelSize, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.originMillis = nowMillis;
+        int size = Integer.highestOneBit(Math.max(2, wheelSize) * 2 - 1);
+        this.mask = size - 1;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    // Replaces any earlier deadline for the id; past deadlines fire on the next tick
+    void schedule(long id, long deadlineMillis) {
+        cancel(id);
+        long deadlineTick = Math.max(currentTick + 1,
+            Math.floorDiv(deadlineMillis - originMillis + tickMillis - 1, tickMillis));
+        Entry entry = new Entry(id, deadlineTick);
+        buckets.get((int) (deadlineTick & mask)).add(entry);
+        entries.put(id, entry);
+    }
+
+    // Cancelled entries are unlinked lazily, when their bucket is next scanned
+    void cancel(long id) {
+        Entry entry = entries.remove(id);
+        if (entry != null) {
+            entry.cancelled = true;
+        }
+    }
+
+    // Ids still scheduled; for tests
+    int size() {
+        return entries.size();
+    }
+
+    // Removes and returns the ids whose deadline is at or before now
+    List<Long> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis - originMillis, tickMillis);
+        List<Long> expired = new ArrayList<>();
+        if (targetTick - currentTick >= buckets.size()) {
+            // Behind by a full turn or more (a long pause): one pass over every bucket will do
+            for (List<Entry> bucket : buckets) {
+                drain(bucket, targetTick, expired);
+            }
+            currentTick = targetTick;
+            return expired;
+        }
+        while (currentTick < targetTick) {
+            currentTick++;
+            drain(buckets.get((int) (currentTick & mask)), currentTick, expired);
+        }
+        return expired;
+    }
+
+    private void drain(List<Entry> bucket, long upToTick, List<Long> expired) {
+        for (Iterator<Entry> it = bucket.iterator(); it.hasNext(); ) {
+            Entry entry = it.next();
+            if (entry.cancelled) {
+                it.remove();
+            } else if (entry.deadlineTick <= upToTick) {
+                it.remove();
+                entries.remove(entry.id);
+                expired.add(entry.id);
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        final long id;
+
+        final long deadlineTick;
+
+        boolean cancelled;
+
+        Entry(long id, long deadlineTick) {
+            this.id = id;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.spingo.bikerental.lifecycle;
+
+import com.spingo.bikerental.BookingRepository;
+import com.spingo.bikerental.BookingStatus;
+import com.spingo.bikerental.service.BookingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Moves bookings along CONFIRMED -> ACTIVE -> COMPLETED as their pickup and dropoff times pass,
+// and the bike along BOOKED -> RENTED -> AVAILABLE with them. Each run walks the due bookings
+// of one status in keyset pages off the (status, time) indexes and hands every page to
+// BookingService as one transaction, so a run costs a few index range scans plus the rows
+// that actually change, and a backlog of millions (first start, long downtime) is worked
+// through page by page without holding more than a page in memory. Transitions re-check each
+// booking, so runs on several instances, or a run repeated after a crash, change nothing twice.
+// Starts run before completions: a booking that was missed entirely ends up COMPLETED.
+@Component
+@EnableConfigurationProperties(BookingLifecycleProperties.class)
+public class BookingLifecycleJob {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingLifecycleJob.class);
+
+    // Below any booking time; the keyset starts here
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final BookingLifecycleProperties properties;
+
+    private final BookingRepository bookingRepository;
+
+    private final BookingService bookingService;
+
+    private final Timer runTimer;
+
+    public BookingLifecycleJob(BookingLifecycleProperties properties, BookingRepository bookingRepository,
+                               BookingService bookingService, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bookingRepository = bookingRepository;
+        this.bookingService = bookingService;
+        this.runTimer = Timer.builder("bookings.lifecycle.run")
+            .description("Booking lifecycle job runs")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "PT30S", fixedDelayString = "${booking.lifecycle.interval:PT1M}")
+    public void run() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        Pageable page = PageRequest.of(0, properties.getBatchSize());
+
+        Sweep started = sweep((afterAt, afterId) -> bookingRepository.findDuePickups(
+                BookingStatus.CONFIRMED, now, afterAt, afterId, page),
+            ids -> bookingService.startBookings(ids, now), page.getPageSize());
+        Sweep completed = sweep((afterAt, afterId) -> bookingRepository.findDueDropoffs(
+                BookingStatus.ACTIVE, now, afterAt, afterId, page),
+            ids -> bookingService.completeBookings(ids, now), page.getPageSize());
+
+        long nanos = System.nanoTime() - start;
+        runTimer.record(nanos, TimeUnit.NANOSECONDS);
+        if (started.changed > 0 || completed.changed > 0 || started.skipped > 0 || completed.skipped > 0) {
+            log.info("Booking lifecycle: {} started, {} completed, {} skipped in {} ms",
+                started.changed, completed.changed, started.skipped + completed.skipped, nanos / 1_000_000);
+        }
+    }
+
+    private Sweep sweep(PageQuery query, Transition transition, int pageSize) {
+        Sweep sweep = new Sweep();
+        LocalDateTime afterAt = EPOCH;
+        long afterId = 0;
+        List<BookingRepository.Due> due;
+        do {
+            due = query.next(afterAt, afterId);
+            if (due.isEmpty()) {
+                break;
+            }
+            List<Long> ids = new ArrayList<>(due.size());
+            for (BookingRepository.Due booking : due) {
+                ids.add(booking.getId());
+            }
+            apply(transition, ids, sweep);
+            BookingRepository.Due last = due.get(due.size() - 1);
+            afterAt = last.getAt();
+            afterId = last.getId();
+        } while (due.size() == pageSize);
+        return sweep;
+    }
+
+    // A page that loses a race with a user's update or cancel on one of its bookings is retried
+    // a booking at a time; bookings that still conflict are picked up by the next run
+    private void apply(Transition transition, List<Long> ids, Sweep sweep) {
+        try {
+            sweep.changed += transition.apply(ids);
+            return;
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("Booking lifecycle batch conflicted, retrying {} bookings one by one", ids.size());
+        }
+        for (Long id : ids) {
+            try {
+                sweep.changed += transition.apply(List.of(id));
+            } catch (OptimisticLockingFailureException e) {
+                sweep.skipped++;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface PageQuery {
+        List<BookingRepository.Due> next(LocalDateTime afterAt, long afterId);
+    }
+
+    @FunctionalInterface
+    private interface Transition {
+        int apply(List<Long> ids);
+    }
+
+    private static final class Sweep {
+
+        int changed;
+
+        int skipped;
+    }
+}
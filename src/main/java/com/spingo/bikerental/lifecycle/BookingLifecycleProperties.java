@@ -0,0 +1,42 @@
+package com.spingo.bikerental.lifecycle;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// booking.lifecycle.* in application.properties
+@ConfigurationProperties(prefix = "booking.lifecycle")
+public class BookingLifecycleProperties {
+
+    private boolean enabled = true;
+
+    // Read by @Scheduled on BookingLifecycleJob.run; a transition happens at most this late
+    private Duration interval = Duration.ofMinutes(1);
+
+    // Bookings per transaction
+    private int batchSize = 500;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
@@ -0,0 +1,52 @@
+package com.spingo.bikerental.pricing;
+
+import com.spingo.bikerental.BikeType;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+
+// The demand-based multipliers currently in force, per city and bike type for each of the 168
+// hours of the week. DemandPricingJob builds a complete new snapshot and swaps it in with one
+// volatile write; PricingEngine reads it on the booking path without locking. Snapshots and
+// their arrays are never modified once published.
+@Component
+public class DemandMultipliers {
+
+    public static final int HOURS_PER_WEEK = 7 * 24;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    // Null when no multipliers are known for the pair, i.e. the bike is priced as usual
+    public float[] lookup(String city, BikeType type) {
+        if (city == null || type == null) {
+            return null;
+        }
+        Map<BikeType, float[]> byType = snapshot.multipliers().get(cityKey(city));
+        return byType == null ? null : byType.get(type);
+    }
+
+    public Snapshot current() {
+        return snapshot;
+    }
+
+    void publish(Snapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    // Monday 00:00 is hour 0
+    static int hourOfWeek(int dayOfWeekOrdinal, int hour) {
+        return dayOfWeekOrdinal * 24 + hour;
+    }
+
+    static String cityKey(String city) {
+        return city.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Keyed by lower-cased city
+    public record Snapshot(LocalDateTime computedAt, Map<String, Map<BikeType, float[]>> multipliers) {
+
+        static final Snapshot EMPTY = new Snapshot(null, Map.of());
+    }
+}
@@ -0,0 +1,280 @@
+package com.spingo.bikerental.pricing;
+
+import com.spingo.bikerental.BikeType;
+import com.spingo.bikerental.BookingStatus;
+import com.spingo.bikerental.DemandPricingHistory;
+import com.spingo.bikerental.DemandPricingHistoryRepository;
+import com.spingo.bikerental.converter.BikeTypeConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+// Computes demand-based price multipliers from booking utilization and publishes them to
+// DemandMultipliers. Each run:
+//  1. brings booking_demand_rollup (booked bike-hours per city, type and hour slot) up to
+//     date, re-reading raw bookings only for the last settle-hours plus anything not yet
+//     rolled up; older slots are final and read from the rollup alone
+//  2. turns the window's rollup into utilization per city, type and hour of the week,
+//     against the current active fleet, and maps it linearly to a bounded multiplier
+//  3. swaps in the new snapshot and records it in demand_pricing_history
+// Only bikes whose owners opted in (Bike.dynamicPricing) are priced with the result.
+//
+// Every instance runs the job, since each holds its own DemandMultipliers, but only the one
+// that claims the hour in job_runs rewrites the rollup and records history; the others
+// compute from the rollup as it stands. So concurrent rewrites never collide on
+// idx_demand_rollup_slot and history gets one set of rows per computed_at. An instance that
+// runs before the claimant commits prices from the previous hour's rollup.
+@Component
+public class DemandPricingJob {
+
+    private static final Logger log = LoggerFactory.getLogger(DemandPricingJob.class);
+
+    private static final BikeTypeConverter TYPES = new BikeTypeConverter();
+
+    // Bookings that take a bike off the road
+    private static final List<BookingStatus> BOOKED = List.of(
+        BookingStatus.CONFIRMED, BookingStatus.ACTIVE, BookingStatus.COMPLETED);
+
+    private static final String BOOKINGS_SQL =
+        "SELECT bk.pickup_date, bk.dropoff_date, b.city, b.type FROM bookings bk " +
+        "JOIN bikes b ON b.id = bk.bike_id " +
+        "WHERE bk.status IN (?, ?, ?) AND bk.dropoff_date > ? AND bk.pickup_date < ? " +
+        "AND b.city IS NOT NULL AND b.type IS NOT NULL";
+
+    private static final String INSERT_ROLLUP_SQL =
+        "INSERT INTO booking_demand_rollup (city, type, slot_start, booked_hours) VALUES (?, ?, ?, ?)";
+
+    private static final String FLEET_SQL =
+        "SELECT city, type, COUNT(*) AS bikes FROM bikes WHERE is_active = TRUE AND type IS NOT NULL GROUP BY city, type";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String JOB_NAME = "demand-pricing";
+
+    private static final String CLAIM_SQL = "UPDATE job_runs SET run_at = ? WHERE name = ? AND run_at < ?";
+
+    private static final String FIRST_CLAIM_SQL = "INSERT INTO job_runs (name, run_at) VALUES (?, ?)";
+
+    private final PricingProperties.Demand properties;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final DemandMultipliers demandMultipliers;
+
+    private final DemandPricingHistoryRepository historyRepository;
+
+    public DemandPricingJob(PricingProperties properties, JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate, DemandMultipliers demandMultipliers,
+                            DemandPricingHistoryRepository historyRepository) {
+        this.properties = properties.getDemand();
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.demandMultipliers = demandMultipliers;
+        this.historyRepository = historyRepository;
+    }
+
+    @Scheduled(initialDelayString = "PT1M", fixedDelayString = "${pricing.demand.refresh-interval:PT1H}")
+    public void refresh() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime windowStart = now.minusDays(properties.getWindowDays());
+
+        boolean claimed = claim(now);
+        int slots = claimed ? rollUp(windowStart, now) : 0;
+        Map<String, Fleet> fleets = fleets();
+        Map<String, double[][]> booked = bookedHoursByHourOfWeek(windowStart);
+
+        // Each hour of the week occurs windowDays / 7 times in the window
+        double weeks = properties.getWindowDays() / 7.0;
+        Map<String, Map<BikeType, float[]>> multipliers = new HashMap<>();
+        List<DemandPricingHistory> history = new ArrayList<>();
+        for (Map.Entry<String, Fleet> fleet : fleets.entrySet()) {
+            double[][] cityBooked = booked.get(fleet.getKey());
+            for (BikeType type : BikeType.values()) {
+                int size = fleet.getValue().sizes[type.ordinal()];
+                if (size < properties.getMinFleet()) {
+                    continue;
+                }
+                float[] hourly = new float[DemandMultipliers.HOURS_PER_WEEK];
+                double bookedTotal = 0;
+                for (int hour = 0; hour < hourly.length; hour++) {
+                    double hours = cityBooked == null ? 0 : cityBooked[type.ordinal()][hour];
+                    bookedTotal += hours;
+                    hourly[hour] = multiplier(hours / (size * weeks));
+                }
+                multipliers.computeIfAbsent(fleet.getKey(), key -> new EnumMap<>(BikeType.class)).put(type, hourly);
+                history.add(historyRow(now, fleet.getValue().city, type, size,
+                    bookedTotal / (size * weeks * DemandMultipliers.HOURS_PER_WEEK), hourly));
+            }
+        }
+
+        demandMultipliers.publish(new DemandMultipliers.Snapshot(now, multipliers));
+        if (claimed) {
+            transactionTemplate.executeWithoutResult(status -> {
+                historyRepository.saveAll(history);
+                historyRepository.deleteOlderThan(now.minusDays(properties.getHistoryDays()));
+            });
+        }
+        log.info("Demand pricing refreshed: {} city/type pairs priced in {} ms, {}", history.size(),
+            (System.nanoTime() - start) / 1_000_000,
+            claimed ? slots + " rollup slots rewritten" : "rollup and history left to the instance that claimed " + now);
+    }
+
+    // True for exactly one run per hour across all instances: the conditional update is atomic,
+    // and on the very first run the primary key settles the race
+    private boolean claim(LocalDateTime hour) {
+        Timestamp runAt = Timestamp.valueOf(hour);
+        if (jdbcTemplate.update(CLAIM_SQL, runAt, JOB_NAME, runAt) == 1) {
+            return true;
+        }
+        try {
+            return jdbcTemplate.update(FIRST_CLAIM_SQL, JOB_NAME, runAt) == 1;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    // Rewrites the rollup from the last settled slot (or the window start) up to now
+    private int rollUp(LocalDateTime windowStart, LocalDateTime now) {
+        Timestamp latest = jdbcTemplate.queryForObject(
+            "SELECT MAX(slot_start) FROM booking_demand_rollup", Timestamp.class);
+        LocalDateTime from = windowStart;
+        if (latest != null) {
+            LocalDateTime settled = latest.toLocalDateTime().minusHours(properties.getSettleHours());
+            if (settled.isAfter(from)) {
+                from = settled;
+            }
+        }
+
+        Map<Slot, Double> slots = new HashMap<>();
+        LocalDateTime rangeStart = from;
+        jdbcTemplate.query(BOOKINGS_SQL, rs -> { addBooking(slots, rs, rangeStart, now); },
+            BOOKED.get(0).getCode(), BOOKED.get(1).getCode(), BOOKED.get(2).getCode(),
+            Timestamp.valueOf(rangeStart), Timestamp.valueOf(now));
+
+        List<Object[]> rows = new ArrayList<>(slots.size());
+        for (Map.Entry<Slot, Double> slot : slots.entrySet()) {
+            rows.add(new Object[] {slot.getKey().city(), slot.getKey().type().getCode(),
+                Timestamp.valueOf(slot.getKey().start()), slot.getValue()});
+        }
+        // Slots older than the window are no longer read
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM booking_demand_rollup WHERE slot_start >= ? OR slot_start < ?",
+                Timestamp.valueOf(rangeStart), Timestamp.valueOf(windowStart));
+            for (int i = 0; i < rows.size(); i += BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_ROLLUP_SQL, rows.subList(i, Math.min(i + BATCH_SIZE, rows.size())));
+            }
+        });
+        return rows.size();
+    }
+
+    // Spreads one booking's time within [from, to) over the hour slots it covers
+    private static void addBooking(Map<Slot, Double> slots, ResultSet rs, LocalDateTime from, LocalDateTime to)
+            throws SQLException {
+        LocalDateTime start = rs.getTimestamp("pickup_date").toLocalDateTime();
+        LocalDateTime end = rs.getTimestamp("dropoff_date").toLocalDateTime();
+        if (start.isBefore(from)) {
+            start = from;
+        }
+        if (end.isAfter(to)) {
+            end = to;
+        }
+        // Keyed like DemandMultipliers, so spellings differing in case share a rollup row
+        String city = DemandMultipliers.cityKey(rs.getString("city"));
+        BikeType type = TYPES.convertToEntityAttribute(rs.getShort("type"));
+        for (LocalDateTime slot = start.truncatedTo(ChronoUnit.HOURS); slot.isBefore(end); slot = slot.plusHours(1)) {
+            LocalDateTime slotEnd = slot.plusHours(1);
+            LocalDateTime overlapStart = start.isAfter(slot) ? start : slot;
+            LocalDateTime overlapEnd = end.isBefore(slotEnd) ? end : slotEnd;
+            double hours = Duration.between(overlapStart, overlapEnd).toSeconds() / 3600.0;
+            slots.merge(new Slot(city, type, slot), hours, Double::sum);
+        }
+    }
+
+    // city key -> [type][hour of week] -> booked bike-hours over the window
+    private Map<String, double[][]> bookedHoursByHourOfWeek(LocalDateTime windowStart) {
+        Map<String, double[][]> booked = new HashMap<>();
+        jdbcTemplate.query("SELECT city, type, slot_start, booked_hours FROM booking_demand_rollup WHERE slot_start >= ?",
+            rs -> {
+                LocalDateTime slot = rs.getTimestamp("slot_start").toLocalDateTime();
+                BikeType type = TYPES.convertToEntityAttribute(rs.getShort("type"));
+                int hour = DemandMultipliers.hourOfWeek(slot.getDayOfWeek().ordinal(), slot.getHour());
+                booked.computeIfAbsent(DemandMultipliers.cityKey(rs.getString("city")),
+                        key -> new double[BikeType.values().length][DemandMultipliers.HOURS_PER_WEEK])
+                    [type.ordinal()][hour] += rs.getDouble("booked_hours");
+            }, Timestamp.valueOf(windowStart));
+        return booked;
+    }
+
+    // Active bikes per city key and type; the first spelling seen names the city in history
+    private Map<String, Fleet> fleets() {
+        Map<String, Fleet> fleets = new HashMap<>();
+        jdbcTemplate.query(FLEET_SQL, rs -> {
+            String city = rs.getString("city");
+            if (city == null) {
+                return;
+            }
+            BikeType type = TYPES.convertToEntityAttribute(rs.getShort("type"));
+            fleets.computeIfAbsent(DemandMultipliers.cityKey(city), key -> new Fleet(city.trim()))
+                .sizes[type.ordinal()] += rs.getInt("bikes");
+        });
+        return fleets;
+    }
+
+    // Linear in the distance from the target utilization, bounded, rounded to cents per unit
+    private float multiplier(double utilization) {
+        double multiplier = 1 + properties.getSensitivity() * (utilization - properties.getTargetUtilization());
+        multiplier = Math.max(properties.getMinMultiplier(), Math.min(properties.getMaxMultiplier(), multiplier));
+        return Math.round(multiplier * 100) / 100f;
+    }
+
+    private static DemandPricingHistory historyRow(LocalDateTime computedAt, String city, BikeType type, int fleetSize,
+                                                   double utilization, float[] hourly) {
+        float min = Float.MAX_VALUE;
+        float max = 0;
+        StringJoiner joined = new StringJoiner(",");
+        for (float multiplier : hourly) {
+            min = Math.min(min, multiplier);
+            max = Math.max(max, multiplier);
+            joined.add(Float.toString(multiplier));
+        }
+        return new DemandPricingHistory(computedAt, city, type, fleetSize,
+            Math.round(utilization * 10_000) / 10_000.0, (double) min, (double) max, joined.toString());
+    }
+
+    private record Slot(String city, BikeType type, LocalDateTime start) {
+    }
+
+    private static final class Fleet {
+
+        final String city;
+
+        final int[] sizes = new int[BikeType.values().length];
+
+        Fleet(String city) {
+            this.city = city;
+        }
+    }
+}
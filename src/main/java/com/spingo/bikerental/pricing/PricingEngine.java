@@ -0,0 +1,250 @@
+package com.spingo.bikerental.pricing;
+
+import com.spingo.bikerental.Bike;
+import com.spingo.bikerental.BikeType;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Prices a rental as the cheapest mix of the bike's hourly, daily (24h) and monthly (30 day)
+// rates, then scales it by the average surge/seasonal multiplier over the rented hours.
+// Billable time is whole hours, minimum one, as bookings have always been charged.
+//
+// The rules in PricingProperties are compiled once into flat tables per city: for every bike
+// type, month and day of week, prefix sums of the hourly multiplier. Quoting walks the rental
+// a day at a time doing two lookups per day, and allocates only the returned Quote.
+//
+// Bikes whose owners opted in to dynamic pricing are also scaled, hour by hour, by the
+// demand multipliers currently published in DemandMultipliers.
+@Component
+@EnableConfigurationProperties(PricingProperties.class)
+public class PricingEngine {
+
+    static final int HOURS_PER_DAY = 24;
+
+    static final int HOURS_PER_MONTH = 30 * HOURS_PER_DAY;
+
+    // One slot per bike type plus one for bikes without a type (only type-agnostic rules apply)
+    private static final int TYPE_SLOTS = BikeType.values().length + 1;
+
+    private static final int DAY_STRIDE = HOURS_PER_DAY + 1;
+
+    private static final int TABLE_SIZE = TYPE_SLOTS * 12 * 7 * DAY_STRIDE;
+
+    // For cities no rule names
+    private final double[] defaultTable;
+
+    private final Map<String, double[]> cityTables = new HashMap<>();
+
+    private final DemandMultipliers demandMultipliers;
+
+    private final Duration maxRental;
+
+    public PricingEngine(PricingProperties properties, DemandMultipliers demandMultipliers) {
+        this.demandMultipliers = demandMultipliers;
+        this.maxRental = properties.getMaxRental();
+        List<PricingProperties.Rule> rules = properties.getRules();
+        for (PricingProperties.Rule rule : rules) {
+            validate(rule);
+        }
+        defaultTable = compile(rules, null);
+        for (PricingProperties.Rule rule : rules) {
+            for (String city : rule.getCities()) {
+                cityTables.computeIfAbsent(cityKey(city), key -> compile(rules, key));
+            }
+        }
+    }
+
+    // Quoting walks the rental a day (with demand pricing an hour) at a time, so callers taking
+    // windows from requests reject overly long ones first
+    public void checkRentalLength(LocalDateTime pickup, LocalDateTime dropoff) {
+        if (pickup != null && dropoff != null && Duration.between(pickup, dropoff).compareTo(maxRental) > 0) {
+            throw new IllegalArgumentException("Rentals cannot be longer than " + maxRental.toDays() + " days");
+        }
+    }
+
+    public Quote quote(Bike bike, LocalDateTime pickup, LocalDateTime dropoff) {
+        float[] demand = Boolean.TRUE.equals(bike.getDynamicPricing())
+            ? demandMultipliers.lookup(bike.getCity(), bike.getType())
+            : null;
+        return quote(bike.getCity(), bike.getType(), bike.getPricePerHour(), bike.getPricePerDay(),
+            bike.getPricePerMonth(), pickup, dropoff, demand);
+    }
+
+    // Missing daily or monthly rates just aren't offered; the hourly rate is required.
+    // Static prices and rules only: no demand multipliers.
+    public Quote quote(String city, BikeType type, BigDecimal pricePerHour, BigDecimal pricePerDay,
+                       BigDecimal pricePerMonth, LocalDateTime pickup, LocalDateTime dropoff) {
+        return quote(city, type, pricePerHour, pricePerDay, pricePerMonth, pickup, dropoff, null);
+    }
+
+    private Quote quote(String city, BikeType type, BigDecimal pricePerHour, BigDecimal pricePerDay,
+                        BigDecimal pricePerMonth, LocalDateTime pickup, LocalDateTime dropoff, float[] demand) {
+        if (pricePerHour == null) {
+            throw new IllegalArgumentException("Bike has no hourly price");
+        }
+        long hours = Math.max(1, ChronoUnit.HOURS.between(pickup, dropoff));
+        long hourCents = cents(pricePerHour);
+        long dayCents = pricePerDay == null ? -1 : cents(pricePerDay);
+        long monthCents = pricePerMonth == null ? -1 : cents(pricePerMonth);
+
+        // Nested units (1 | 24 | 720 hours) at fixed rates: at each level the optimum uses
+        // none, as many whole units as fit, or one more to cover the remainder
+        long bestCents = Long.MAX_VALUE;
+        long bestMonths = 0;
+        long bestDays = 0;
+        long monthUnits = hours / HOURS_PER_MONTH;
+        for (int monthChoice = 0; monthChoice < 3; monthChoice++) {
+            long months = monthChoice == 0 ? 0 : monthUnits + monthChoice - 1;
+            if (months > 0 && monthCents < 0) {
+                continue;
+            }
+            long afterMonths = Math.max(0, hours - months * HOURS_PER_MONTH);
+            long dayUnits = afterMonths / HOURS_PER_DAY;
+            for (int dayChoice = 0; dayChoice < 3; dayChoice++) {
+                long days = dayChoice == 0 ? 0 : dayUnits + dayChoice - 1;
+                if (days > 0 && dayCents < 0) {
+                    continue;
+                }
+                long afterDays = Math.max(0, afterMonths - days * HOURS_PER_DAY);
+                long total = months * Math.max(0, monthCents) + days * Math.max(0, dayCents) + afterDays * hourCents;
+                if (total < bestCents) {
+                    bestCents = total;
+                    bestMonths = months;
+                    bestDays = days;
+                }
+            }
+        }
+        long bestHours = Math.max(0, hours - bestMonths * HOURS_PER_MONTH - bestDays * HOURS_PER_DAY);
+
+        double multiplier = averageMultiplier(table(city), typeSlot(type), pickup, hours, demand);
+        return new Quote(BigDecimal.valueOf(Math.round(bestCents * multiplier), 2), BigDecimal.valueOf(bestCents, 2),
+            multiplier, hours, bestMonths, bestDays, bestHours);
+    }
+
+    // With demand multipliers (one per hour of the week) each hour is weighted individually
+    private static double averageMultiplier(double[] table, int typeSlot, LocalDateTime pickup, long hours,
+                                            float[] demand) {
+        int year = pickup.getYear();
+        int month = pickup.getMonthValue() - 1;
+        int dayOfMonth = pickup.getDayOfMonth();
+        int monthLength = pickup.getMonth().length(Year.isLeap(year));
+        int dayOfWeek = pickup.getDayOfWeek().ordinal();
+        int hour = pickup.getHour();
+        double sum = 0;
+        for (long remaining = hours; remaining > 0; ) {
+            int span = (int) Math.min(remaining, HOURS_PER_DAY - hour);
+            int day = offset(typeSlot, month, dayOfWeek);
+            if (demand == null) {
+                sum += table[day + hour + span] - table[day + hour];
+            } else {
+                int week = DemandMultipliers.hourOfWeek(dayOfWeek, 0);
+                for (int h = hour; h < hour + span; h++) {
+                    sum += (table[day + h + 1] - table[day + h]) * demand[week + h];
+                }
+            }
+            remaining -= span;
+            hour = 0;
+            dayOfWeek = (dayOfWeek + 1) % 7;
+            if (++dayOfMonth > monthLength) {
+                dayOfMonth = 1;
+                if (++month == 12) {
+                    month = 0;
+                    year++;
+                }
+                monthLength = Month.of(month + 1).length(Year.isLeap(year));
+            }
+        }
+        return sum / hours;
+    }
+
+    // Prefix sums of the compounded multiplier per (type, month, day of week) over hours 0..24
+    private static double[] compile(List<PricingProperties.Rule> rules, String city) {
+        double[] table = new double[TABLE_SIZE];
+        BikeType[] types = BikeType.values();
+        for (int typeSlot = 0; typeSlot < TYPE_SLOTS; typeSlot++) {
+            BikeType type = typeSlot < types.length ? types[typeSlot] : null;
+            for (int month = 0; month < 12; month++) {
+                for (int dayOfWeek = 0; dayOfWeek < 7; dayOfWeek++) {
+                    int day = offset(typeSlot, month, dayOfWeek);
+                    for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+                        double multiplier = 1.0;
+                        for (PricingProperties.Rule rule : rules) {
+                            if (matches(rule, city, type, month, dayOfWeek, hour)) {
+                                multiplier *= rule.getMultiplier();
+                            }
+                        }
+                        table[day + hour + 1] = table[day + hour] + multiplier;
+                    }
+                }
+            }
+        }
+        return table;
+    }
+
+    private static boolean matches(PricingProperties.Rule rule, String city, BikeType type, int month,
+                                   int dayOfWeek, int hour) {
+        if (!rule.getCities().isEmpty()
+                && (city == null || rule.getCities().stream().noneMatch(c -> cityKey(c).equals(city)))) {
+            return false;
+        }
+        if (!rule.getTypes().isEmpty() && (type == null || !rule.getTypes().contains(type))) {
+            return false;
+        }
+        if (!rule.getMonths().isEmpty() && rule.getMonths().stream().noneMatch(m -> m.ordinal() == month)) {
+            return false;
+        }
+        if (!rule.getDaysOfWeek().isEmpty() && rule.getDaysOfWeek().stream().noneMatch(d -> d.ordinal() == dayOfWeek)) {
+            return false;
+        }
+        return rule.getFromHour() <= rule.getToHour()
+            ? hour >= rule.getFromHour() && hour < rule.getToHour()
+            : hour >= rule.getFromHour() || hour < rule.getToHour();
+    }
+
+    private static void validate(PricingProperties.Rule rule) {
+        if (rule.getMultiplier() <= 0) {
+            throw new IllegalStateException("pricing rule " + rule.getName() + ": multiplier must be positive");
+        }
+        if (rule.getFromHour() < 0 || rule.getFromHour() > HOURS_PER_DAY
+                || rule.getToHour() < 0 || rule.getToHour() > HOURS_PER_DAY) {
+            throw new IllegalStateException("pricing rule " + rule.getName() + ": hours must be within 0..24");
+        }
+    }
+
+    private double[] table(String city) {
+        return city == null ? defaultTable : cityTables.getOrDefault(cityKey(city), defaultTable);
+    }
+
+    private static int offset(int typeSlot, int month, int dayOfWeek) {
+        return ((typeSlot * 12 + month) * 7 + dayOfWeek) * DAY_STRIDE;
+    }
+
+    private static int typeSlot(BikeType type) {
+        return type == null ? TYPE_SLOTS - 1 : type.ordinal();
+    }
+
+    private static String cityKey(String city) {
+        return city.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    // basePrice is the cheapest rate mix before multipliers; months, days and hours are its units
+    public record Quote(BigDecimal total, BigDecimal basePrice, double multiplier, long billableHours,
+                        long months, long days, long hours) {
+    }
+}
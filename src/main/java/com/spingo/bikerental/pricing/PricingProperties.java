@@ -0,0 +1,245 @@
+package com.spingo.bikerental.pricing;
+
+import com.spingo.bikerental.BikeType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+
+// pricing.* in application.properties. Every rule that matches a rental hour applies, and
+// their multipliers compound; an empty list matches everything. pricing.demand.* tunes the
+// demand-based multipliers of bikes whose owners opted in (DemandPricingJob).
+@ConfigurationProperties(prefix = "pricing")
+public class PricingProperties {
+
+    private List<Rule> rules = new ArrayList<>();
+
+    // Longest rental window that can be quoted or booked
+    private Duration maxRental = Duration.ofDays(365);
+
+    private Demand demand = new Demand();
+
+    public static class Rule {
+
+        private String name;
+
+        // Matched case-insensitively
+        private List<String> cities = new ArrayList<>();
+
+        private List<BikeType> types = new ArrayList<>();
+
+        // Seasonal rules
+        private List<Month> months = new ArrayList<>();
+
+        private List<DayOfWeek> daysOfWeek = new ArrayList<>();
+
+        // Hours of the day [fromHour, toHour); wraps past midnight when fromHour > toHour
+        private int fromHour = 0;
+
+        private int toHour = 24;
+
+        // Above 1 for surges, below 1 for discounts
+        private double multiplier = 1.0;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<String> getCities() {
+            return cities;
+        }
+
+        public void setCities(List<String> cities) {
+            this.cities = cities;
+        }
+
+        public List<BikeType> getTypes() {
+            return types;
+        }
+
+        public void setTypes(List<BikeType> types) {
+            this.types = types;
+        }
+
+        public List<Month> getMonths() {
+            return months;
+        }
+
+        public void setMonths(List<Month> months) {
+            this.months = months;
+        }
+
+        public List<DayOfWeek> getDaysOfWeek() {
+            return daysOfWeek;
+        }
+
+        public void setDaysOfWeek(List<DayOfWeek> daysOfWeek) {
+            this.daysOfWeek = daysOfWeek;
+        }
+
+        public int getFromHour() {
+            return fromHour;
+        }
+
+        public void setFromHour(int fromHour) {
+            this.fromHour = fromHour;
+        }
+
+        public int getToHour() {
+            return toHour;
+        }
+
+        public void setToHour(int toHour) {
+            this.toHour = toHour;
+        }
+
+        public double getMultiplier() {
+            return multiplier;
+        }
+
+        public void setMultiplier(double multiplier) {
+            this.multiplier = multiplier;
+        }
+    }
+
+    public static class Demand {
+
+        private boolean enabled = true;
+
+        // Read by @Scheduled on DemandPricingJob.refresh; whatever the interval, the rollup and
+        // history are written at most once an hour
+        private Duration refreshInterval = Duration.ofHours(1);
+
+        // Utilization is measured over this many days of bookings
+        private int windowDays = 28;
+
+        // Recent rollup hours are recomputed on every rollup rewrite, picking up late cancellations
+        private int settleHours = 48;
+
+        // Utilization at which the multiplier is 1
+        private double targetUtilization = 0.5;
+
+        // Multiplier change per unit of utilization above or below the target
+        private double sensitivity = 1.0;
+
+        private double minMultiplier = 0.8;
+
+        private double maxMultiplier = 1.5;
+
+        // Smaller fleets are too noisy to price on; their multiplier stays 1
+        private int minFleet = 3;
+
+        private int historyDays = 90;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+
+        public int getWindowDays() {
+            return windowDays;
+        }
+
+        public void setWindowDays(int windowDays) {
+            this.windowDays = windowDays;
+        }
+
+        public int getSettleHours() {
+            return settleHours;
+        }
+
+        public void setSettleHours(int settleHours) {
+            this.settleHours = settleHours;
+        }
+
+        public double getTargetUtilization() {
+            return targetUtilization;
+        }
+
+        public void setTargetUtilization(double targetUtilization) {
+            this.targetUtilization = targetUtilization;
+        }
+
+        public double getSensitivity() {
+            return sensitivity;
+        }
+
+        public void setSensitivity(double sensitivity) {
+            this.sensitivity = sensitivity;
+        }
+
+        public double getMinMultiplier() {
+            return minMultiplier;
+        }
+
+        public void setMinMultiplier(double minMultiplier) {
+            this.minMultiplier = minMultiplier;
+        }
+
+        public double getMaxMultiplier() {
+            return maxMultiplier;
+        }
+
+        public void setMaxMultiplier(double maxMultiplier) {
+            this.maxMultiplier = maxMultiplier;
+        }
+
+        public int getMinFleet() {
+            return minFleet;
+        }
+
+        public void setMinFleet(int minFleet) {
+            this.minFleet = minFleet;
+        }
+
+        public int getHistoryDays() {
+            return historyDays;
+        }
+
+        public void setHistoryDays(int historyDays) {
+            this.historyDays = historyDays;
+        }
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    public Duration getMaxRental() {
+        return maxRental;
+    }
+
+    public void setMaxRental(Duration maxRental) {
+        this.maxRental = maxRental;
+    }
+
+    public Demand getDemand() {
+        return demand;
+    }
+
+    public void setDemand(Demand demand) {
+        this.demand = demand;
+    }
+}
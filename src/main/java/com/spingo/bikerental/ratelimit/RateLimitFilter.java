@@ -0,0 +1,142 @@
+package com.spingo.bikerental.ratelimit;
+
+import com.spingo.bikerental.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Runs in the security chain right after JwtAuthenticationFilter (see SecurityConfig), so
+// USER-keyed routes can see who is calling. Rate limits answer 429, the load shedder 503;
+// both set Retry-After.
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final RateLimitProperties properties;
+
+    private final List<LimitedRoute> routes = new ArrayList<>();
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    private final Counter shedRequests;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            LimitedRoute limited = new LimitedRoute(route,
+                new TokenBucketLimiter(route.getCapacity(), route.getRefillPerSecond()),
+                Counter.builder("rate_limit.rejected").tag("route", route.getName()).register(meterRegistry));
+            Gauge.builder("rate_limit.keys", limited.limiter, TokenBucketLimiter::size)
+                .tag("route", route.getName())
+                .register(meterRegistry);
+            routes.add(limited);
+        }
+
+        RateLimitProperties.LoadShedding shedding = properties.getLoadShedding();
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(shedding.getMinConcurrency(),
+            shedding.getMaxConcurrency(), shedding.getTargetLatency().toNanos());
+        this.shedRequests = Counter.builder("load_shedder.rejected").register(meterRegistry);
+        Gauge.builder("load_shedder.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+            .register(meterRegistry);
+        Gauge.builder("load_shedder.in_flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (!properties.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        LimitedRoute route = findRoute(path);
+        if (route != null) {
+            long waitNanos = route.limiter.tryAcquire(clientKey(route.config.getKey(), request));
+            if (waitNanos > 0) {
+                route.rejected.increment();
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, waitNanos, "Too many requests");
+                return;
+            }
+        }
+
+        RateLimitProperties.LoadShedding shedding = properties.getLoadShedding();
+        if (!shedding.isEnabled() || !pathMatcher.match(shedding.getPattern(), path)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            shedRequests.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1), "Server is busy");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.release(System.nanoTime() - start);
+        }
+    }
+
+    // Full buckets carry no state, dropping them keeps the maps bounded by active clients
+    @Scheduled(fixedDelay = 60_000)
+    public void evictFullBuckets() {
+        for (LimitedRoute route : routes) {
+            route.limiter.evictFullBuckets();
+        }
+    }
+
+    private LimitedRoute findRoute(String path) {
+        for (LimitedRoute route : routes) {
+            if (pathMatcher.match(route.config.getPattern(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static String clientKey(RateLimitProperties.KeyType keyType, HttpServletRequest request) {
+        if (keyType == RateLimitProperties.KeyType.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof User user) {
+                return "user:" + user.getId();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterNanos,
+                               String message) throws IOException {
+        long retryAfterSeconds = Math.max(1, (retryAfterNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"" + message + "\",\"retryAfterSeconds\":" + retryAfterSeconds + "}");
+    }
+
+    private record LimitedRoute(RateLimitProperties.Route config, TokenBucketLimiter limiter, Counter rejected) {
+    }
+}
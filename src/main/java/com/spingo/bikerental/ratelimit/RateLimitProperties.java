@@ -0,0 +1,158 @@
+package com.spingo.bikerental.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// rate-limit.* in application.properties. Routes are matched in order, first match wins.
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private List<Route> routes = new ArrayList<>();
+
+    private LoadShedding loadShedding = new LoadShedding();
+
+    public enum KeyType {
+        // Client address
+        IP,
+        // Authenticated user id, falling back to the client address for anonymous requests
+        USER
+    }
+
+    public static class Route {
+
+        private String name;
+
+        private String pattern;
+
+        private KeyType key = KeyType.IP;
+
+        // Burst size: requests a fresh client may send at once
+        private int capacity = 60;
+
+        // Sustained rate once the burst is spent
+        private double refillPerSecond = 10;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public KeyType getKey() {
+            return key;
+        }
+
+        public void setKey(KeyType key) {
+            this.key = key;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+
+    public static class LoadShedding {
+
+        private boolean enabled = true;
+
+        private String pattern = "/api/**";
+
+        private int minConcurrency = 8;
+
+        private int maxConcurrency = 64;
+
+        // Requests slower than this shrink the concurrency limit
+        private Duration targetLatency = Duration.ofMillis(250);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public int getMinConcurrency() {
+            return minConcurrency;
+        }
+
+        public void setMinConcurrency(int minConcurrency) {
+            this.minConcurrency = minConcurrency;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public Duration getTargetLatency() {
+            return targetLatency;
+        }
+
+        public void setTargetLatency(Duration targetLatency) {
+            this.targetLatency = targetLatency;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<Route> routes) {
+        this.routes = routes;
+    }
+
+    public LoadShedding getLoadShedding() {
+        return loadShedding;
+    }
+
+    public void setLoadShedding(LoadShedding loadShedding) {
+        this.loadShedding = loadShedding;
+    }
+}
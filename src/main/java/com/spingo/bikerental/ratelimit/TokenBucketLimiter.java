@@ -0,0 +1,54 @@
+package com.spingo.bikerental.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket per key, implemented as GCRA: each bucket is a single AtomicLong holding the
+// time at which it will be full again, updated with one CAS per request and no locks. The
+// buckets live in a ConcurrentHashMap, whose bins already stripe contention across keys.
+public class TokenBucketLimiter {
+
+    // Time to earn back one token
+    private final long emissionIntervalNanos;
+
+    // How far ahead of "now" the full time may run before requests are refused
+    private final long burstToleranceNanos;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public TokenBucketLimiter(int capacity, double refillPerSecond) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity must be >= 1 and refillPerSecond > 0");
+        }
+        this.emissionIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+    }
+
+    // Takes a token; returns 0 if one was available, otherwise the nanoseconds until one is
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        AtomicLong fullAt = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = fullAt.get();
+            long base = current - now > 0 ? current : now;
+            long wait = base - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    // Drops buckets that have refilled completely, which behave exactly like new ones. A request
+    // racing with the removal may get one token for free, which is acceptable.
+    public void evictFullBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(fullAt -> fullAt.get() - now <= 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
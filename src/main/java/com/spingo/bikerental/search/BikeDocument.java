@@ -0,0 +1,9 @@
+package com.spingo.bikerental.search;
+
+import com.spingo.bikerental.BikeStatus;
+import com.spingo.bikerental.BikeType;
+
+// The searchable fields and position of an active bike, as held by the in-memory catalog indexes
+public record BikeDocument(long id, String brand, String model, String city, BikeType type, BikeStatus status,
+                           String description, Double latitude, Double longitude) {
+}
@@ -0,0 +1,62 @@
+package com.spingo.bikerental.search;
+
+import com.spingo.bikerental.converter.BikeStatusConverter;
+import com.spingo.bikerental.converter.BikeTypeConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+// Reads index documents straight from the bikes table: a full rebuild at 100k+ bikes would
+// otherwise hydrate (and second-level cache) every entity just to copy a few columns.
+// Inactive bikes are never returned, so they drop out of every index.
+@Component
+public class BikeDocumentLoader {
+
+    private static final String SELECT_SQL =
+        "SELECT id, brand, model, city, type, status, description, latitude, longitude " +
+        "FROM bikes WHERE is_active = TRUE";
+
+    private static final BikeTypeConverter TYPES = new BikeTypeConverter();
+
+    private static final BikeStatusConverter STATUSES = new BikeStatusConverter();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final RowMapper<BikeDocument> rowMapper = this::mapRow;
+
+    public BikeDocumentLoader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<BikeDocument> loadAll() {
+        return jdbcTemplate.query(SELECT_SQL, rowMapper);
+    }
+
+    // Empty when the bike was deleted or deactivated
+    public Optional<BikeDocument> load(long id) {
+        return jdbcTemplate.query(SELECT_SQL + " AND id = ?", rowMapper, id).stream().findFirst();
+    }
+
+    private BikeDocument mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new BikeDocument(
+            rs.getLong("id"),
+            rs.getString("brand"),
+            rs.getString("model"),
+            rs.getString("city"),
+            TYPES.convertToEntityAttribute(code(rs, "type")),
+            STATUSES.convertToEntityAttribute(code(rs, "status")),
+            rs.getString("description"),
+            rs.getObject("latitude", Double.class),
+            rs.getObject("longitude", Double.class));
+    }
+
+    private static Short code(ResultSet rs, String column) throws SQLException {
+        short code = rs.getShort(column);
+        return rs.wasNull() ? null : code;
+    }
+}
@@ -0,0 +1,188 @@
+package com.spingo.bikerental.search;
+
+import com.spingo.bikerental.BikeStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+// In-memory grid of bike positions behind GET /api/bikes/nearby. Bikes are bucketed into
+// fixed 0.02 degree cells (about 2.2 km north-south); a k-nearest query scans rings of cells
+// outwards from the caller's cell and stops as soon as no unscanned cell can hold anything
+// closer than the k-th best so far, so the work depends on local density, not catalog size.
+// Fed by BikeIndexUpdater. The grid does not wrap at the antimeridian.
+@Component
+public class BikeGeoIndex implements BikeIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BikeGeoIndex.class);
+
+    private static final double CELL_DEGREES = 0.02;
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final double KM_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_KM;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, List<Point>> cells = new HashMap<>();
+
+    private Map<Long, Point> points = new HashMap<>();
+
+    @Override
+    public void replaceAll(List<BikeDocument> bikes) {
+        Map<Long, List<Point>> newCells = new HashMap<>();
+        Map<Long, Point> newPoints = new HashMap<>();
+        for (BikeDocument bike : bikes) {
+            add(bike, newCells, newPoints);
+        }
+        lock.writeLock().lock();
+        try {
+            cells = newCells;
+            points = newPoints;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Geo index built: {} bikes in {} cells", newPoints.size(), newCells.size());
+    }
+
+    @Override
+    public void update(long bikeId, BikeDocument bike) {
+        lock.writeLock().lock();
+        try {
+            remove(bikeId);
+            if (bike != null) {
+                add(bike, cells, points);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Up to limit bikes accepted by filter within radiusKm, nearest first
+    public List<Neighbour> nearest(double latitude, double longitude, double radiusKm, int limit,
+                                   Predicate<Point> filter) {
+        PriorityQueue<Neighbour> best = new PriorityQueue<>(
+            Comparator.comparingDouble(Neighbour::distanceKm).reversed());
+        int row = row(latitude);
+        int col = col(longitude);
+        // Cells narrow east-west with latitude; use the narrowest width the search area can reach
+        double cellHeightKm = CELL_DEGREES * KM_PER_DEGREE;
+        double farthestLatitude = Math.min(89.9, Math.abs(latitude) + radiusKm / KM_PER_DEGREE);
+        double ringStepKm = Math.min(cellHeightKm, cellHeightKm * Math.cos(Math.toRadians(farthestLatitude)));
+
+        lock.readLock().lock();
+        try {
+            for (int ring = 0; ; ring++) {
+                // The caller may sit anywhere in the centre cell, so ring r is at least r - 1 steps away
+                double ringMinKm = Math.max(0, ring - 1) * ringStepKm;
+                if (ringMinKm > radiusKm || (best.size() == limit && best.peek().distanceKm() <= ringMinKm)) {
+                    break;
+                }
+                for (int dr = -ring; dr <= ring; dr++) {
+                    // Interior rows of the ring only contribute their two edge cells
+                    int step = Math.abs(dr) == ring ? 1 : 2 * ring;
+                    for (int dc = -ring; dc <= ring; dc += step) {
+                        List<Point> cell = cells.get(key(row + dr, col + dc));
+                        if (cell != null) {
+                            collect(cell, latitude, longitude, radiusKm, limit, filter, best);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Neighbour> nearest = new ArrayList<>(best);
+        nearest.sort(Comparator.comparingDouble(Neighbour::distanceKm));
+        return nearest;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return points.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void collect(List<Point> cell, double latitude, double longitude, double radiusKm, int limit,
+                                Predicate<Point> filter, PriorityQueue<Neighbour> best) {
+        for (Point point : cell) {
+            if (!filter.test(point)) {
+                continue;
+            }
+            double distance = distanceKm(latitude, longitude, point.latitude(), point.longitude());
+            if (distance > radiusKm) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(new Neighbour(point.bikeId(), distance));
+            } else if (distance < best.peek().distanceKm()) {
+                best.poll();
+                best.add(new Neighbour(point.bikeId(), distance));
+            }
+        }
+    }
+
+    // Haversine great-circle distance
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static void add(BikeDocument bike, Map<Long, List<Point>> cells, Map<Long, Point> points) {
+        if (bike.latitude() == null || bike.longitude() == null) {
+            return;
+        }
+        Point point = new Point(bike.id(), bike.latitude(), bike.longitude(), bike.status());
+        cells.computeIfAbsent(key(row(point.latitude()), col(point.longitude())), k -> new ArrayList<>()).add(point);
+        points.put(bike.id(), point);
+    }
+
+    private void remove(long bikeId) {
+        Point point = points.remove(bikeId);
+        if (point == null) {
+            return;
+        }
+        long key = key(row(point.latitude()), col(point.longitude()));
+        List<Point> cell = cells.get(key);
+        if (cell != null) {
+            cell.removeIf(p -> p.bikeId() == bikeId);
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    private static int row(double latitude) {
+        return (int) Math.floor(latitude / CELL_DEGREES);
+    }
+
+    private static int col(double longitude) {
+        return (int) Math.floor(longitude / CELL_DEGREES);
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    public record Point(long bikeId, double latitude, double longitude, BikeStatus status) {
+    }
+
+    public record Neighbour(long bikeId, double distanceKm) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.spingo.bikerental.search;
+
+import java.util.List;
+
+// An in-memory view of the active bikes, fed by BikeIndexUpdater. Calls are serialized by the
+// updater; implementations only guard against their own readers.
+interface BikeIndex {
+
+    // Replaces the whole index with bikes
+    void replaceAll(List<BikeDocument> bikes);
+
+    // bike is null when the bike was deleted or deactivated
+    void update(long bikeId, BikeDocument bike);
+}
@@ -0,0 +1,47 @@
+package com.spingo.bikerental.search;
+
+import com.spingo.bikerental.service.BikeChangedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+// Loads the catalog once the application is ready, and each changed bike after commit, and
+// hands the same documents to every BikeIndex: one query per event however many indexes
+// there are. Writers are serialized here, so a bike reloaded during a rebuild is applied
+// after it.
+@Component
+public class BikeIndexUpdater {
+
+    private final BikeDocumentLoader loader;
+
+    private final List<BikeIndex> indexes;
+
+    public BikeIndexUpdater(BikeDocumentLoader loader, List<BikeIndex> indexes) {
+        this.loader = loader;
+        this.indexes = indexes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<BikeDocument> bikes = loader.loadAll();
+        for (BikeIndex index : indexes) {
+            index.replaceAll(bikes);
+        }
+    }
+
+    // fallbackExecution: bulk imports publish outside a transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBikeChanged(BikeChangedEvent event) {
+        if (event.isBulk()) {
+            rebuild();
+            return;
+        }
+        BikeDocument bike = loader.load(event.bikeId()).orElse(null);
+        for (BikeIndex index : indexes) {
+            index.update(event.bikeId(), bike);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.spingo.bikerental.search;
+
+import com.spingo.bikerental.BikeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index over brand, model, city, type and description of active bikes,
+// behind GET /api/bikes/search. Fed by BikeIndexUpdater from the database, so search never
+// runs LIKE scans on MySQL.
+//
+// Every query word must match (AND). A word matches a term exactly, as a prefix of a longer
+// term, or within one typo (two for long words, Damerau-Levenshtein) of a term sharing its
+// first letter; weaker matches score less. Scores add up per word: the best match's
+// idf * field weight * match factor.
+@Component
+public class BikeSearchIndex implements BikeIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BikeSearchIndex.class);
+
+    private static final float BRAND_WEIGHT = 3f;
+    private static final float MODEL_WEIGHT = 3f;
+    private static final float CITY_WEIGHT = 2f;
+    private static final float TYPE_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    private static final float PREFIX_FACTOR = 0.6f;
+    private static final float FUZZY_FACTOR = 0.4f;
+
+    // Caps the work a one-letter prefix can cause
+    private static final int MAX_EXPANSIONS = 64;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (bike id -> summed field weight); sorted for prefix and fuzzy lookups
+    private NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+
+    private Map<Long, Entry> entries = new HashMap<>();
+
+    @Override
+    public void replaceAll(List<BikeDocument> bikes) {
+        long start = System.nanoTime();
+        NavigableMap<String, Map<Long, Float>> newPostings = new TreeMap<>();
+        Map<Long, Entry> newEntries = new HashMap<>();
+        for (BikeDocument bike : bikes) {
+            add(bike, newPostings, newEntries);
+        }
+        lock.writeLock().lock();
+        try {
+            postings = newPostings;
+            entries = newEntries;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search index built: {} bikes, {} terms in {} ms", newEntries.size(), newPostings.size(),
+            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void update(long bikeId, BikeDocument bike) {
+        lock.writeLock().lock();
+        try {
+            remove(bikeId);
+            if (bike != null) {
+                add(bike, postings, entries);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Filters are exact (case-insensitive for city and brand) and apply before facets and limit
+    public SearchResult search(String query, String city, String brand, BikeType type, int limit) {
+        List<String> words = Tokenizer.queryTokens(query);
+        if (words.isEmpty()) {
+            return SearchResult.EMPTY;
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (String word : words) {
+                Map<Long, Float> wordScores = scoreWord(word);
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    Map<Long, Float> both = new HashMap<>();
+                    for (Map.Entry<Long, Float> hit : scores.entrySet()) {
+                        Float score = wordScores.get(hit.getKey());
+                        if (score != null) {
+                            both.put(hit.getKey(), hit.getValue() + score);
+                        }
+                    }
+                    scores = both;
+                }
+                if (scores.isEmpty()) {
+                    return SearchResult.EMPTY;
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>();
+            Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+            for (Map.Entry<Long, Float> scored : scores.entrySet()) {
+                BikeDocument bike = entries.get(scored.getKey()).bike();
+                if ((city != null && !city.equalsIgnoreCase(bike.city()))
+                        || (brand != null && !brand.equalsIgnoreCase(bike.brand()))
+                        || (type != null && type != bike.type())) {
+                    continue;
+                }
+                hits.add(new Hit(bike.id(), scored.getValue()));
+                count(facets, "city", bike.city());
+                count(facets, "brand", bike.brand());
+                count(facets, "type", bike.type() == null ? null : bike.type().name());
+                count(facets, "status", bike.status() == null ? null : bike.status().name());
+            }
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparingLong(Hit::bikeId));
+            int total = hits.size();
+            return new SearchResult(total, List.copyOf(hits.subList(0, Math.min(limit, total))), facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best score per bike over the exact, prefix and fuzzy expansions of one query word
+    private Map<Long, Float> scoreWord(String word) {
+        Map<Long, Float> scores = new HashMap<>();
+        Map<Long, Float> exact = postings.get(word);
+        if (exact != null) {
+            accumulate(scores, exact, 1f);
+        }
+
+        int expansions = 0;
+        for (Map.Entry<String, Map<Long, Float>> term
+                : postings.subMap(word, false, word + Character.MAX_VALUE, false).entrySet()) {
+            if (++expansions > MAX_EXPANSIONS) {
+                break;
+            }
+            accumulate(scores, term.getValue(), PREFIX_FACTOR);
+        }
+
+        int maxEdits = word.length() >= 8 ? 2 : word.length() >= 4 ? 1 : 0;
+        if (maxEdits > 0) {
+            String first = word.substring(0, 1);
+            for (Map.Entry<String, Map<Long, Float>> term
+                    : postings.subMap(first, true, first + Character.MAX_VALUE, false).entrySet()) {
+                String candidate = term.getKey();
+                if (!candidate.equals(word) && !candidate.startsWith(word)
+                        && Math.abs(candidate.length() - word.length()) <= maxEdits
+                        && editDistance(word, candidate, maxEdits) <= maxEdits) {
+                    accumulate(scores, term.getValue(), FUZZY_FACTOR);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private void accumulate(Map<Long, Float> scores, Map<Long, Float> termPostings, float factor) {
+        float idf = (float) Math.log(1 + (double) entries.size() / termPostings.size());
+        for (Map.Entry<Long, Float> posting : termPostings.entrySet()) {
+            scores.merge(posting.getKey(), factor * idf * posting.getValue(), Math::max);
+        }
+    }
+
+    private static void add(BikeDocument bike, NavigableMap<String, Map<Long, Float>> postings,
+                            Map<Long, Entry> entries) {
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, bike.brand(), BRAND_WEIGHT);
+        addField(weights, bike.model(), MODEL_WEIGHT);
+        addField(weights, bike.city(), CITY_WEIGHT);
+        addField(weights, bike.type() == null ? null : bike.type().name(), TYPE_WEIGHT);
+        addField(weights, bike.description(), DESCRIPTION_WEIGHT);
+        for (Map.Entry<String, Float> weight : weights.entrySet()) {
+            postings.computeIfAbsent(weight.getKey(), term -> new HashMap<>()).put(bike.id(), weight.getValue());
+        }
+        entries.put(bike.id(), new Entry(bike, new HashSet<>(weights.keySet())));
+    }
+
+    private static void addField(Map<String, Float> weights, String text, float weight) {
+        for (String token : Tokenizer.indexTokens(text)) {
+            weights.merge(token, weight, Float::sum);
+        }
+    }
+
+    private void remove(long bikeId) {
+        Entry entry = entries.remove(bikeId);
+        if (entry == null) {
+            return;
+        }
+        for (String term : entry.terms()) {
+            Map<Long, Float> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(bikeId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void count(Map<String, Map<String, Long>> facets, String facet, String value) {
+        if (value != null) {
+            facets.computeIfAbsent(facet, name -> new TreeMap<>()).merge(value, 1L, Long::sum);
+        }
+    }
+
+    // Optimal string alignment distance, giving up once every alignment exceeds max
+    static int editDistance(String a, String b, int max) {
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private record Entry(BikeDocument bike, Set<String> terms) {
+    }
+
+    public record Hit(long bikeId, float score) {
+    }
+
+    public record SearchResult(int total, List<Hit> hits, Map<String, Map<String, Long>> facets) {
+
+        static final SearchResult EMPTY = new SearchResult(0, List.of(), Map.of());
+    }
+}
@@ -0,0 +1,190 @@
+package com.spingo.bikerental.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+// Distinct city, brand and model values of active bikes with how many bikes carry each, behind
+// GET /api/bikes/suggest, so filter dropdowns and typeahead never need the full catalog.
+// Values are grouped case- and accent-insensitively and shown in the spelling first seen.
+//
+// Each field is published as an immutable snapshot of parallel sorted arrays: a lookup is a
+// binary search for the prefix range plus a top-k by count, with no locking. An update only
+// republishes the fields whose value the bike changed, so status changes (every booking and
+// return) republish nothing. A republish copies that field's distinct values: hundreds for
+// cities and brands, up to one per bike for models, paid when a bike is added, removed or
+// has its model edited. Fed by BikeIndexUpdater.
+@Component
+public class BikeSuggestIndex implements BikeIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BikeSuggestIndex.class);
+
+    public enum Field {
+        CITY(BikeDocument::city),
+        BRAND(BikeDocument::brand),
+        MODEL(BikeDocument::model);
+
+        private final Function<BikeDocument, String> value;
+
+        Field(Function<BikeDocument, String> value) {
+            this.value = value;
+        }
+    }
+
+    // Only touched by the updater; readers only touch snapshots
+    private Map<Field, TreeMap<String, Value>> counts = emptyCounts();
+
+    private Map<Long, BikeDocument> bikes = new HashMap<>();
+
+    private volatile Map<Field, Snapshot> snapshots = publish(counts);
+
+    @Override
+    public void replaceAll(List<BikeDocument> newBikes) {
+        Map<Field, TreeMap<String, Value>> newCounts = emptyCounts();
+        Map<Long, BikeDocument> byId = new HashMap<>();
+        for (BikeDocument bike : newBikes) {
+            for (Field field : Field.values()) {
+                adjust(newCounts.get(field), value(field, bike), 1);
+            }
+            byId.put(bike.id(), bike);
+        }
+        counts = newCounts;
+        bikes = byId;
+        snapshots = publish(newCounts);
+        log.info("Suggest index built: {} cities, {} brands, {} models", newCounts.get(Field.CITY).size(),
+            newCounts.get(Field.BRAND).size(), newCounts.get(Field.MODEL).size());
+    }
+
+    @Override
+    public void update(long bikeId, BikeDocument bike) {
+        BikeDocument previous = bike == null ? bikes.remove(bikeId) : bikes.put(bikeId, bike);
+        Map<Field, Snapshot> published = null;
+        for (Field field : Field.values()) {
+            String before = value(field, previous);
+            String after = value(field, bike);
+            if (Objects.equals(key(before), key(after))) {
+                continue;
+            }
+            TreeMap<String, Value> values = counts.get(field);
+            adjust(values, before, -1);
+            adjust(values, after, 1);
+            if (published == null) {
+                published = new EnumMap<>(snapshots);
+            }
+            published.put(field, snapshot(values));
+        }
+        if (published != null) {
+            snapshots = published;
+        }
+    }
+
+    // Values starting with prefix (case- and accent-insensitive), most common first
+    public List<Suggestion> suggest(Field field, String prefix, int limit) {
+        Snapshot snapshot = snapshots.get(field);
+        String key = Tokenizer.normalize(prefix == null ? "" : prefix.trim());
+        int from = lowerBound(snapshot.keys(), key);
+        int to = lowerBound(snapshot.keys(), key + Character.MAX_VALUE);
+        Integer[] matches = new Integer[to - from];
+        for (int i = from; i < to; i++) {
+            matches[i - from] = i;
+        }
+        Arrays.sort(matches, Comparator.<Integer>comparingInt(i -> snapshot.counts()[i]).reversed()
+            .thenComparing(i -> snapshot.keys()[i]));
+        List<Suggestion> suggestions = new ArrayList<>(Math.min(limit, matches.length));
+        for (int i = 0; i < matches.length && i < limit; i++) {
+            suggestions.add(new Suggestion(snapshot.values()[matches[i]], snapshot.counts()[matches[i]]));
+        }
+        return suggestions;
+    }
+
+    // Trimmed value of field, or null when the bike has none
+    private static String value(Field field, BikeDocument bike) {
+        String display = bike == null ? null : field.value.apply(bike);
+        return display == null || display.isBlank() ? null : display.trim();
+    }
+
+    private static String key(String display) {
+        return display == null ? null : Tokenizer.normalize(display);
+    }
+
+    private static void adjust(TreeMap<String, Value> values, String display, int delta) {
+        if (display == null) {
+            return;
+        }
+        String key = key(display);
+        Value current = values.get(key);
+        int count = (current == null ? 0 : current.count()) + delta;
+        if (count <= 0) {
+            values.remove(key);
+        } else {
+            values.put(key, new Value(current == null ? display : current.display(), count));
+        }
+    }
+
+    private static Map<Field, Snapshot> publish(Map<Field, TreeMap<String, Value>> counts) {
+        Map<Field, Snapshot> published = new EnumMap<>(Field.class);
+        for (Map.Entry<Field, TreeMap<String, Value>> field : counts.entrySet()) {
+            published.put(field.getKey(), snapshot(field.getValue()));
+        }
+        return published;
+    }
+
+    private static Snapshot snapshot(TreeMap<String, Value> values) {
+        int size = values.size();
+        String[] keys = new String[size];
+        String[] displays = new String[size];
+        int[] valueCounts = new int[size];
+        int i = 0;
+        for (Map.Entry<String, Value> value : values.entrySet()) {
+            keys[i] = value.getKey();
+            displays[i] = value.getValue().display();
+            valueCounts[i] = value.getValue().count();
+            i++;
+        }
+        return new Snapshot(keys, displays, valueCounts);
+    }
+
+    private static Map<Field, TreeMap<String, Value>> emptyCounts() {
+        Map<Field, TreeMap<String, Value>> empty = new EnumMap<>(Field.class);
+        for (Field field : Field.values()) {
+            empty.put(field, new TreeMap<>());
+        }
+        return empty;
+    }
+
+    // First index whose key is >= target
+    private static int lowerBound(String[] keys, String target) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(target) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record Value(String display, int count) {
+    }
+
+    // Parallel arrays sorted by normalized key
+    private record Snapshot(String[] keys, String[] values, int[] counts) {
+    }
+
+    public record Suggestion(String value, int count) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.spingo.bikerental.seed;
+
+import com.spingo.bikerental.UserRole;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// seed.* in application.properties. Sizes are totals; the generator is off unless seed.enabled=true.
+@ConfigurationProperties(prefix = "seed")
+public class SeedProperties {
+
+    private boolean enabled = false;
+
+    // Same seed, same dataset: query plans and load-test runs stay comparable
+    private long randomSeed = 42;
+
+    private Map<UserRole, Integer> usersPerRole = new EnumMap<>(Map.of(
+        UserRole.ADMIN, 2,
+        UserRole.CUSTOMER, 10_000,
+        UserRole.INDIVIDUAL_OWNER, 500,
+        UserRole.RENTAL_BUSINESS, 50,
+        UserRole.DELIVERY_PARTNER, 100));
+
+    private int bikes = 20_000;
+
+    private int bookings = 200_000;
+
+    // Rows per JDBC batch; each batch commits in its own transaction
+    private int batchSize = 1000;
+
+    // Zipf exponent for city, brand, bike and customer popularity (0 = uniform)
+    private double skew = 1.0;
+
+    // Days of booking history before, and of future bookings after, the time of the run
+    private int historyDays = 180;
+
+    private int horizonDays = 60;
+
+    // Password of every generated account (hashed once)
+    private String password = "password123";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public void setRandomSeed(long randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+
+    public Map<UserRole, Integer> getUsersPerRole() {
+        return usersPerRole;
+    }
+
+    public void setUsersPerRole(Map<UserRole, Integer> usersPerRole) {
+        this.usersPerRole = usersPerRole;
+    }
+
+    public int getBikes() {
+        return bikes;
+    }
+
+    public void setBikes(int bikes) {
+        this.bikes = bikes;
+    }
+
+    public int getBookings() {
+        return bookings;
+    }
+
+    public void setBookings(int bookings) {
+        this.bookings = bookings;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public double getSkew() {
+        return skew;
+    }
+
+    public void setSkew(double skew) {
+        this.skew = skew;
+    }
+
+    public int getHistoryDays() {
+        return historyDays;
+    }
+
+    public void setHistoryDays(int historyDays) {
+        this.historyDays = historyDays;
+    }
+
+    public int getHorizonDays() {
+        return horizonDays;
+    }
+
+    public void setHorizonDays(int horizonDays) {
+        this.horizonDays = horizonDays;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+}
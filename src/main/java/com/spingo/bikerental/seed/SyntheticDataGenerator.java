@@ -0,0 +1,385 @@
+package com.spingo.bikerental.seed;
+
+import com.spingo.bikerental.BikeStatus;
+import com.spingo.bikerental.BikeType;
+import com.spingo.bikerental.BookingStatus;
+import com.spingo.bikerental.UserRole;
+import com.spingo.bikerental.pricing.PricingEngine;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Bulk-loads a synthetic dataset sized by seed.* (see SeedProperties) for load tests and
+// query-plan work. Rows go through JdbcTemplate.batchUpdate in seed.batch-size chunks, one
+// transaction per chunk, like BikeImportService; nothing is held in a persistence context and
+// bookings are generated bike by bike, so memory stays flat even for millions of rows.
+//
+// Popularity is Zipf-skewed: a few cities, models, bikes and customers get most of the
+// traffic. Each bike's bookings are laid out on a timeline without double-booking confirmed
+// or active rentals; a share of competing requests for the same slot is added as pending or
+// cancelled, which is what the conflict query sees in production.
+@Component
+@EnableConfigurationProperties(SeedProperties.class)
+public class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String INSERT_USER_SQL =
+        "INSERT INTO users (name, email, phone, password, role, address, is_active, created_at, updated_at, version) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_BIKE_SQL =
+        "INSERT INTO bikes (brand, model, year, type, city, price_per_hour, price_per_day, price_per_month, " +
+        "owner_id, description, status, image_url, is_active, created_at, updated_at, latitude, longitude, " +
+        "dynamic_pricing, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_BOOKING_SQL =
+        "INSERT INTO bookings (user_id, bike_id, pickup_date, dropoff_date, total_price, status, " +
+        "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String IMAGE_URL =
+        "https://images.unsplash.com/photo-1558618047-3c8c76ca7d13?w=500&h=300&fit=crop&crop=center";
+
+    // Most popular first
+    private static final String[] CITIES = {"Bangalore", "Mumbai", "Delhi", "Pune", "Hyderabad", "Chennai",
+        "Goa", "Kolkata", "Jaipur", "Ahmedabad", "Kochi", "Chandigarh", "Manali", "Rishikesh"};
+
+    // City centres (lat, lon), same order as CITIES; bikes scatter around them
+    private static final double[][] CITY_CENTRES = {{12.9716, 77.5946}, {19.0760, 72.8777}, {28.6139, 77.2090},
+        {18.5204, 73.8567}, {17.3850, 78.4867}, {13.0827, 80.2707}, {15.4909, 73.8278}, {22.5726, 88.3639},
+        {26.9124, 75.7873}, {23.0225, 72.5714}, {9.9312, 76.2673}, {30.7333, 76.7794}, {32.2432, 77.1892},
+        {30.0869, 78.2676}};
+
+    // Standard deviation of the scatter, about 5 km
+    private static final double CITY_SPREAD_DEGREES = 0.045;
+
+    // Share of bikes whose owners opted in to demand-based pricing
+    private static final int DYNAMIC_PRICING_PERCENT = 30;
+
+    private static final BikeModel[] MODELS = {
+        new BikeModel("Honda", "Activa 6G", BikeType.STANDARD, 60),
+        new BikeModel("Royal Enfield", "Classic 350", BikeType.CRUISER, 150),
+        new BikeModel("Bajaj", "Pulsar 150", BikeType.STANDARD, 80),
+        new BikeModel("TVS", "Jupiter", BikeType.STANDARD, 55),
+        new BikeModel("Hero", "Splendor Plus", BikeType.STANDARD, 50),
+        new BikeModel("Royal Enfield", "Himalayan", BikeType.TOURING, 200),
+        new BikeModel("Yamaha", "FZ", BikeType.SPORT, 100),
+        new BikeModel("Honda", "Shine", BikeType.STANDARD, 60),
+        new BikeModel("Royal Enfield", "Meteor 350", BikeType.CRUISER, 170),
+        new BikeModel("TVS", "Apache RTR 160", BikeType.SPORT, 90),
+        new BikeModel("Yamaha", "R15", BikeType.SPORT, 150),
+        new BikeModel("KTM", "Duke 390", BikeType.SPORT, 250),
+        new BikeModel("Bajaj", "Dominar 400", BikeType.TOURING, 220),
+        new BikeModel("Suzuki", "Access 125", BikeType.STANDARD, 55),
+        new BikeModel("Bajaj", "Avenger 220", BikeType.CRUISER, 110),
+        new BikeModel("Hero", "Xpulse 200", BikeType.TOURING, 130),
+        new BikeModel("Kawasaki", "Ninja 300", BikeType.SPORT, 350),
+        new BikeModel("BMW", "G310 GS", BikeType.TOURING, 400),
+        new BikeModel("Kawasaki", "Vulcan S", BikeType.CRUISER, 450),
+        new BikeModel("Ducati", "Monster", BikeType.SPORT, 700),
+        new BikeModel("BMW", "R1250GS", BikeType.TOURING, 900)
+    };
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Vivaan", "Aditya", "Vihaan", "Arjun", "Sai", "Reyansh",
+        "Ananya", "Diya", "Aadhya", "Isha", "Priya", "Kavya", "Meera", "Rohan", "Rahul", "Neha", "Sneha", "Karan",
+        "Pooja", "Amit", "Sanjay", "Deepa", "Nikhil"};
+
+    private static final String[] LAST_NAMES = {"Sharma", "Verma", "Patel", "Reddy", "Nair", "Iyer", "Singh",
+        "Kumar", "Gupta", "Mehta", "Joshi", "Rao", "Das", "Chopra", "Bose", "Kulkarni", "Menon", "Pillai"};
+
+    private static final String[] STREETS = {"MG Road", "Park Street", "Linking Road", "Brigade Road",
+        "Anna Salai", "FC Road", "Banjara Hills Rd", "Residency Road", "Church Street", "Station Road"};
+
+    private final SeedProperties properties;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final PricingEngine pricingEngine;
+
+    public SyntheticDataGenerator(SeedProperties properties, JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate, PasswordEncoder passwordEncoder,
+                                  EntityManagerFactory entityManagerFactory, PricingEngine pricingEngine) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.entityManagerFactory = entityManagerFactory;
+        this.pricingEngine = pricingEngine;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    // Generates the dataset unless a previous run already did (generated emails are fixed)
+    public void generate() {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email LIKE 'seed.%'",
+            Integer.class);
+        if (existing != null && existing > 0) {
+            log.info("Synthetic dataset already present ({} users), skipping generation", existing);
+            return;
+        }
+
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(properties.getRandomSeed());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+        Map<UserRole, long[]> users = insertUsers(random, now);
+        SeededBikes bikes = insertBikes(random, now, owners(users));
+        long bookings = insertBookings(random, now, bikes, users.getOrDefault(UserRole.CUSTOMER, new long[0]));
+
+        // Rows were inserted behind Hibernate's back, so cached catalog queries are stale
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        log.info("Generated {} users, {} bikes and {} bookings in {} ms",
+            users.values().stream().mapToInt(ids -> ids.length).sum(), bikes.ids.length, bookings,
+            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Map<UserRole, long[]> insertUsers(SplittableRandom random, LocalDateTime now) {
+        // One hash for every account: BCrypt is deliberately slow
+        String passwordHash = passwordEncoder.encode(properties.getPassword());
+        ZipfSampler citySampler = new ZipfSampler(CITIES.length, properties.getSkew());
+        Map<UserRole, long[]> ids = new EnumMap<>(UserRole.class);
+
+        for (Map.Entry<UserRole, Integer> entry : properties.getUsersPerRole().entrySet()) {
+            UserRole role = entry.getKey();
+            int count = entry.getValue();
+            long firstId = maxId("users") + 1;
+            String rolePrefix = "seed." + role.name().toLowerCase(Locale.ROOT).replace('_', '-') + ".";
+            BatchWriter batch = new BatchWriter(INSERT_USER_SQL);
+            for (int i = 1; i <= count; i++) {
+                String city = CITIES[citySampler.sample(random)];
+                Timestamp createdAt = Timestamp.valueOf(now.minusDays(properties.getHistoryDays())
+                    .minusHours(random.nextInt(24 * 365)));
+                batch.add(pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES), rolePrefix + i + "@example.com",
+                    String.valueOf(6_000_000_000L + random.nextLong(4_000_000_000L)), passwordHash, role.getCode(),
+                    (1 + random.nextInt(999)) + " " + pick(random, STREETS) + ", " + city,
+                    random.nextInt(100) < 98, createdAt, createdAt);
+            }
+            batch.flush();
+            ids.put(role, jdbcTemplate.queryForList("SELECT id FROM users WHERE id >= ? ORDER BY id", Long.class,
+                firstId).stream().mapToLong(Long::longValue).toArray());
+        }
+        return ids;
+    }
+
+    // Rental businesses ahead of individual owners: the head of the Zipf ranking owns fleets
+    private static long[] owners(Map<UserRole, long[]> users) {
+        long[] businesses = users.getOrDefault(UserRole.RENTAL_BUSINESS, new long[0]);
+        long[] individuals = users.getOrDefault(UserRole.INDIVIDUAL_OWNER, new long[0]);
+        long[] owners = new long[businesses.length + individuals.length];
+        System.arraycopy(businesses, 0, owners, 0, businesses.length);
+        System.arraycopy(individuals, 0, owners, businesses.length, individuals.length);
+        if (owners.length == 0) {
+            throw new IllegalStateException("seed.users-per-role must include RENTAL_BUSINESS or INDIVIDUAL_OWNER");
+        }
+        return owners;
+    }
+
+    private SeededBikes insertBikes(SplittableRandom random, LocalDateTime now, long[] owners) {
+        int count = properties.getBikes();
+        ZipfSampler citySampler = new ZipfSampler(CITIES.length, properties.getSkew());
+        ZipfSampler modelSampler = new ZipfSampler(MODELS.length, properties.getSkew());
+        ZipfSampler ownerSampler = new ZipfSampler(owners.length, properties.getSkew());
+        String[] cities = new String[count];
+        BikeType[] types = new BikeType[count];
+        BigDecimal[] hourlyPrices = new BigDecimal[count];
+        long firstId = maxId("bikes") + 1;
+
+        BatchWriter batch = new BatchWriter(INSERT_BIKE_SQL);
+        for (int i = 0; i < count; i++) {
+            BikeModel model = MODELS[modelSampler.sample(random)];
+            int cityIndex = citySampler.sample(random);
+            String city = CITIES[cityIndex];
+            double latitude = CITY_CENTRES[cityIndex][0] + random.nextGaussian() * CITY_SPREAD_DEGREES;
+            double longitude = CITY_CENTRES[cityIndex][1] + random.nextGaussian() * CITY_SPREAD_DEGREES;
+            // +/-20% around the model's list price, rounded to 5
+            long hourly = Math.max(5, Math.round(model.hourlyPrice * (0.8 + random.nextDouble() * 0.4) / 5) * 5);
+            BigDecimal pricePerHour = BigDecimal.valueOf(hourly).setScale(2, RoundingMode.UNNECESSARY);
+            cities[i] = city;
+            types[i] = model.type;
+            hourlyPrices[i] = pricePerHour;
+            int health = random.nextInt(100);
+            BikeStatus status = health < 92 ? BikeStatus.AVAILABLE
+                : health < 97 ? BikeStatus.MAINTENANCE : BikeStatus.OUT_OF_SERVICE;
+            Timestamp createdAt = Timestamp.valueOf(now.minusDays(properties.getHistoryDays())
+                .minusHours(random.nextInt(24 * 365)));
+            batch.add(model.brand, model.name, 2016 + random.nextInt(9), model.type.getCode(), city,
+                pricePerHour, pricePerHour.multiply(BigDecimal.valueOf(6)),
+                pricePerHour.multiply(BigDecimal.valueOf(120)), owners[ownerSampler.sample(random)],
+                model.brand + " " + model.name + " available in " + city, status.getCode(), IMAGE_URL,
+                status != BikeStatus.OUT_OF_SERVICE, createdAt, createdAt, latitude, longitude,
+                random.nextInt(100) < DYNAMIC_PRICING_PERCENT);
+        }
+        batch.flush();
+
+        long[] ids = jdbcTemplate.queryForList("SELECT id FROM bikes WHERE id >= ? ORDER BY id", Long.class, firstId)
+            .stream().mapToLong(Long::longValue).toArray();
+        return new SeededBikes(ids, cities, types, hourlyPrices);
+    }
+
+    private long insertBookings(SplittableRandom random, LocalDateTime now, SeededBikes bikes, long[] customers) {
+        if (customers.length == 0 || bikes.ids.length == 0) {
+            return 0;
+        }
+        // Bikes and customers have long tails; half the skew still leaves the tail some traffic
+        ZipfSampler bikeSampler = new ZipfSampler(bikes.ids.length, properties.getSkew() / 2);
+        ZipfSampler customerSampler = new ZipfSampler(customers.length, properties.getSkew() / 2);
+        int[] perBike = new int[bikes.ids.length];
+        for (int i = 0; i < properties.getBookings(); i++) {
+            perBike[bikeSampler.sample(random)]++;
+        }
+
+        LocalDateTime windowStart = now.minusDays(properties.getHistoryDays());
+        long windowMinutes = (properties.getHistoryDays() + properties.getHorizonDays()) * 24L * 60;
+        BatchWriter batch = new BatchWriter(INSERT_BOOKING_SQL);
+        for (int bike = 0; bike < perBike.length; bike++) {
+            int remaining = perBike[bike];
+            if (remaining == 0) {
+                continue;
+            }
+            long slotMinutes = windowMinutes / remaining;
+            LocalDateTime cursor = windowStart;
+            while (remaining > 0) {
+                LocalDateTime pickup = cursor.plusMinutes(quarterHours(random.nextLong(Math.max(1, slotMinutes * 2 / 5))));
+                long durationMinutes = Math.min(rentalMinutes(random), Math.max(60, slotMinutes * 3 / 5));
+                LocalDateTime dropoff = pickup.plusMinutes(quarterHours(durationMinutes));
+                cursor = dropoff;
+
+                long customer = customers[customerSampler.sample(random)];
+                addBooking(batch, random, now, customer, bikes, bike, pickup, dropoff, status(random, now, pickup, dropoff));
+                remaining--;
+
+                // A competing request for the same slot, never confirmed alongside the one above
+                if (remaining > 0 && random.nextInt(100) < 8) {
+                    LocalDateTime competingPickup = pickup.plusHours(random.nextInt(4));
+                    BookingStatus competing = competingPickup.isAfter(now) && random.nextBoolean()
+                        ? BookingStatus.PENDING : BookingStatus.CANCELLED;
+                    addBooking(batch, random, now, customers[customerSampler.sample(random)], bikes, bike,
+                        competingPickup, competingPickup.plusMinutes(quarterHours(durationMinutes)), competing);
+                    remaining--;
+                }
+            }
+        }
+        batch.flush();
+        return batch.written;
+    }
+
+    private void addBooking(BatchWriter batch, SplittableRandom random, LocalDateTime now, long customer,
+                            SeededBikes bikes, int bike, LocalDateTime pickup, LocalDateTime dropoff,
+                            BookingStatus status) {
+        // Priced like a real booking; daily and monthly rates are 6x and 120x hourly as inserted
+        BigDecimal hourly = bikes.hourlyPrices[bike];
+        BigDecimal totalPrice = pricingEngine.quote(bikes.cities[bike], bikes.types[bike], hourly,
+            hourly.multiply(BigDecimal.valueOf(6)), hourly.multiply(BigDecimal.valueOf(120)), pickup, dropoff).total();
+        LocalDateTime createdAt = pickup.minusHours(1 + random.nextInt(24 * 14));
+        if (createdAt.isAfter(now)) {
+            createdAt = now;
+        }
+        Timestamp created = Timestamp.valueOf(createdAt);
+        batch.add(customer, bikes.ids[bike], Timestamp.valueOf(pickup), Timestamp.valueOf(dropoff),
+            totalPrice, status.getCode(), created, created);
+    }
+
+    // Past rentals mostly completed, running ones active, upcoming ones mostly confirmed
+    private static BookingStatus status(SplittableRandom random, LocalDateTime now, LocalDateTime pickup,
+                                        LocalDateTime dropoff) {
+        int roll = random.nextInt(100);
+        if (!dropoff.isAfter(now)) {
+            return roll < 88 ? BookingStatus.COMPLETED : BookingStatus.CANCELLED;
+        }
+        if (!pickup.isAfter(now)) {
+            return BookingStatus.ACTIVE;
+        }
+        return roll < 65 ? BookingStatus.CONFIRMED : roll < 90 ? BookingStatus.PENDING : BookingStatus.CANCELLED;
+    }
+
+    // Mostly a few hours, then day trips, week-long tours and the odd monthly rental
+    private static long rentalMinutes(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (roll < 55) {
+            return 60L * (2 + random.nextInt(7));
+        }
+        if (roll < 85) {
+            return 60L * (24 + random.nextInt(49));
+        }
+        if (roll < 97) {
+            return 60L * 24 * (4 + random.nextInt(4));
+        }
+        return 60L * 24 * 30;
+    }
+
+    private static long quarterHours(long minutes) {
+        return minutes / 15 * 15;
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    // Buffers rows and writes them with one JDBC batch (and transaction) per seed.batch-size
+    private final class BatchWriter {
+
+        private final String sql;
+
+        private final List<Object[]> rows = new ArrayList<>(properties.getBatchSize());
+
+        private long written;
+
+        BatchWriter(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= properties.getBatchSize()) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+            written += rows.size();
+            rows.clear();
+        }
+    }
+
+    private record BikeModel(String brand, String name, BikeType type, int hourlyPrice) {
+    }
+
+    // Parallel arrays indexed in insert order
+    private record SeededBikes(long[] ids, String[] cities, BikeType[] types, BigDecimal[] hourlyPrices) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.spingo.bikerental.service;
+
+// Published by the services that write bikes. BikeIndexUpdater listens after commit and
+// reloads the bike from the database for every in-memory view of the catalog, so the event
+// carries no state that could be stale. A null bikeId means many bikes changed at once (bulk import).
+public record BikeChangedEvent(Long bikeId) {
+
+    public static BikeChangedEvent bulk() {
+        return new BikeChangedEvent(null);
+    }
+
+    public boolean isBulk() {
+        return bikeId == null;
+    }
+}
@@ -0,0 +1,279 @@
+package com.spingo.bikerental.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.spingo.bikerental.Bike;
+import com.spingo.bikerental.BikeStatus;
+import com.spingo.bikerental.BikeType;
+import com.spingo.bikerental.User;
+import com.spingo.bikerental.dto.BikeImportResult;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Streams a CSV or NDJSON upload line by line and inserts valid rows in JDBC batches.
+// Bike ids are IDENTITY-generated, which makes Hibernate give up on insert batching, so rows
+// go through JdbcTemplate.batchUpdate instead of persist(); nothing accumulates in a
+// persistence context and only one chunk of rows is held in memory at a time.
+@Service
+public class BikeImportService {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO bikes (brand, model, year, type, city, price_per_hour, price_per_day, price_per_month, " +
+        "owner_id, description, status, image_url, is_active, created_at, updated_at, version, latitude, longitude) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Rows per JDBC batch; each batch commits in its own transaction
+    @Value("${bikes.import.batch-size:500}")
+    private int batchSize;
+
+    public BikeImportResult importCsv(InputStream input, User owner) throws IOException {
+        return importLines(input, new CsvRowMapper(), owner);
+    }
+
+    public BikeImportResult importNdjson(InputStream input, User owner) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(Bike.class);
+        return importLines(input, line -> reader.readValue(line), owner);
+    }
+
+    private BikeImportResult importLines(InputStream input, RowMapper mapper, User owner) throws IOException {
+        BikeImportResult result = new BikeImportResult();
+        List<Bike> batch = new ArrayList<>(batchSize);
+        List<Long> batchLines = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                Bike bike;
+                try {
+                    bike = mapper.map(line);
+                } catch (Exception e) {
+                    result.addError(lineNumber, List.of("Unparseable row: " + e.getMessage()));
+                    continue;
+                }
+                if (bike == null) {
+                    continue; // header
+                }
+
+                bike.setId(null);
+                bike.setOwner(owner);
+                List<String> violations = validate(bike);
+                if (!violations.isEmpty()) {
+                    result.addError(lineNumber, violations);
+                    continue;
+                }
+
+                batch.add(bike);
+                batchLines.add(lineNumber);
+                if (batch.size() >= batchSize) {
+                    insertBatch(batch, batchLines, result);
+                }
+            }
+            if (!batch.isEmpty()) {
+                insertBatch(batch, batchLines, result);
+            }
+        } finally {
+            if (result.getImported() > 0) {
+                // Rows were inserted behind Hibernate's back, so cached catalog queries are stale
+                entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+                eventPublisher.publishEvent(BikeChangedEvent.bulk());
+            }
+        }
+        return result;
+    }
+
+    private List<String> validate(Bike bike) {
+        Set<ConstraintViolation<Bike>> violations = validator.validate(bike);
+        List<String> messages = new ArrayList<>(violations.size());
+        for (ConstraintViolation<Bike> violation : violations) {
+            messages.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return messages;
+    }
+
+    private void insertBatch(List<Bike> batch, List<Long> batchLines, BikeImportResult result) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), this::bindBike));
+            result.addImported(batch.size());
+        } catch (RuntimeException e) {
+            // The whole chunk rolled back; report every row in it
+            String message = "Batch insert failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (Long line : batchLines) {
+                result.addError(line, List.of(message));
+            }
+        }
+        batch.clear();
+        batchLines.clear();
+    }
+
+    private void bindBike(PreparedStatement ps, Bike bike) throws SQLException {
+        ps.setString(1, bike.getBrand());
+        ps.setString(2, bike.getModel());
+        ps.setInt(3, bike.getYear());
+        setNullable(ps, 4, bike.getType() == null ? null : bike.getType().getCode(), Types.TINYINT);
+        ps.setString(5, bike.getCity());
+        setNullable(ps, 6, bike.getPricePerHour(), Types.DECIMAL);
+        setNullable(ps, 7, bike.getPricePerDay(), Types.DECIMAL);
+        setNullable(ps, 8, bike.getPricePerMonth(), Types.DECIMAL);
+        setNullable(ps, 9, bike.getOwner() == null ? null : bike.getOwner().getId(), Types.BIGINT);
+        setNullable(ps, 10, bike.getDescription(), Types.VARCHAR);
+        ps.setShort(11, (bike.getStatus() == null ? BikeStatus.AVAILABLE : bike.getStatus()).getCode());
+        setNullable(ps, 12, bike.getImageUrl(), Types.VARCHAR);
+        ps.setBoolean(13, bike.getIsActive() == null || bike.getIsActive());
+        ps.setObject(14, bike.getCreatedAt());
+        ps.setObject(15, bike.getUpdatedAt());
+        ps.setLong(16, 0L);
+        setNullable(ps, 17, bike.getLatitude(), Types.DOUBLE);
+        setNullable(ps, 18, bike.getLongitude(), Types.DOUBLE);
+    }
+
+    private static void setNullable(PreparedStatement ps, int index, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, sqlType);
+        } else {
+            ps.setObject(index, value, sqlType);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowMapper {
+        // Returns null for lines that carry no bike (the CSV header)
+        Bike map(String line) throws Exception;
+    }
+
+    // CSV with a header row naming the Bike properties, e.g.
+    // brand,model,year,type,city,pricePerHour,pricePerDay,pricePerMonth,description,imageUrl,status
+    // plus optional latitude,longitude
+    private static class CsvRowMapper implements RowMapper {
+
+        private Map<String, Integer> columns;
+
+        @Override
+        public Bike map(String line) {
+            List<String> fields = parseCsvLine(line);
+            if (columns == null) {
+                columns = new HashMap<>();
+                for (int i = 0; i < fields.size(); i++) {
+                    columns.put(fields.get(i).trim().toLowerCase(Locale.ROOT), i);
+                }
+                return null;
+            }
+
+            Bike bike = new Bike();
+            bike.setBrand(field(fields, "brand"));
+            bike.setModel(field(fields, "model"));
+            String year = field(fields, "year");
+            bike.setYear(year == null ? null : Integer.valueOf(year));
+            String type = field(fields, "type");
+            bike.setType(type == null ? null : BikeType.valueOf(type.toUpperCase(Locale.ROOT)));
+            bike.setCity(field(fields, "city"));
+            String latitude = field(fields, "latitude");
+            bike.setLatitude(latitude == null ? null : Double.valueOf(latitude));
+            String longitude = field(fields, "longitude");
+            bike.setLongitude(longitude == null ? null : Double.valueOf(longitude));
+            bike.setPricePerHour(decimal(field(fields, "priceperhour")));
+            bike.setPricePerDay(decimal(field(fields, "priceperday")));
+            bike.setPricePerMonth(decimal(field(fields, "pricepermonth")));
+            bike.setDescription(field(fields, "description"));
+            bike.setImageUrl(field(fields, "imageurl"));
+            String status = field(fields, "status");
+            if (status != null) {
+                bike.setStatus(BikeStatus.valueOf(status.toUpperCase(Locale.ROOT)));
+            }
+            return bike;
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private static BigDecimal decimal(String value) {
+            return value == null ? null : new BigDecimal(value);
+        }
+
+        // RFC 4180 style: comma separated, double-quoted fields with "" as an escaped quote
+        static List<String> parseCsvLine(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                            current.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            fields.add(current.toString());
+            return fields;
+        }
+    }
+}
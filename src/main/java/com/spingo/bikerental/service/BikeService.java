@@ -0,0 +1,216 @@
+package com.spingo.bikerental.service;
+
+import com.spingo.bikerental.Bike;
+import com.spingo.bikerental.BikeRepository;
+import com.spingo.bikerental.BikeStatus;
+import com.spingo.bikerental.BikeType;
+import com.spingo.bikerental.BookingRepository;
+import com.spingo.bikerental.dto.BikeDto;
+import com.spingo.bikerental.dto.BikeSearchResponse;
+import com.spingo.bikerental.search.BikeGeoIndex;
+import com.spingo.bikerental.search.BikeSearchIndex;
+import com.spingo.bikerental.search.BikeSuggestIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+// Read methods run in read-only transactions: Spring's HibernateJpaDialect switches the
+// session to FlushMode.MANUAL and loads entities read-only, so no dirty-checking snapshots
+// are kept and nothing is flushed on commit. Write methods override with @Transactional.
+@Service
+@Transactional(readOnly = true)
+public class BikeService {
+
+    // Bounds the IN list of the booking conflict check in findNearbyBikes
+    private static final int MAX_NEARBY_CANDIDATES = 1000;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private ImageService imageService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BikeSearchIndex bikeSearchIndex;
+
+    @Autowired
+    private BikeGeoIndex bikeGeoIndex;
+
+    @Autowired
+    private BikeSuggestIndex bikeSuggestIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public List<BikeDto> getActiveBikes() {
+        return toDtos(bikeRepository.findByIsActiveTrue());
+    }
+
+    public List<BikeDto> getAvailableBikes() {
+        return toDtos(bikeRepository.findByIsActiveTrueAndStatus(BikeStatus.AVAILABLE));
+    }
+
+    public Optional<BikeDto> getBikeById(Long id) {
+        return bikeRepository.findById(id).map(this::toDto);
+    }
+
+    public Optional<Bike> findBike(Long id) {
+        return bikeRepository.findById(id);
+    }
+
+    public List<BikeDto> getBikesByStatus(BikeStatus status) {
+        return toDtos(bikeRepository.findByStatus(status));
+    }
+
+    public List<BikeDto> getBikesByType(BikeType type) {
+        return toDtos(bikeRepository.findByType(type));
+    }
+
+    public List<BikeDto> getBikesByCity(String city) {
+        return toDtos(bikeRepository.findByCity(city));
+    }
+
+    public List<BikeDto> getBikesByBrand(String brand) {
+        return toDtos(bikeRepository.findByBrand(brand));
+    }
+
+    public List<BikeDto> filterBikes(String city, BikeType type, String brand, BikeStatus status) {
+        return toDtos(bikeRepository.findBikesWithFilters(city, type, brand, status));
+    }
+
+    // Ranked by the in-memory index; only the returned page is loaded, by primary key
+    public BikeSearchResponse searchBikes(String query, String city, String brand, BikeType type, int limit) {
+        BikeSearchIndex.SearchResult result = bikeSearchIndex.search(query, city, brand, type, limit);
+        List<Long> ids = result.hits().stream().map(BikeSearchIndex.Hit::bikeId).toList();
+        Map<Long, Bike> bikes = bikeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Bike::getId, Function.identity()));
+        // A bike deleted since the index answered is simply left out
+        List<BikeDto> dtos = ids.stream()
+                .map(bikes::get)
+                .filter(Objects::nonNull)
+                .map(this::toDto)
+                .toList();
+        return new BikeSearchResponse(query, result.total(), dtos, result.facets());
+    }
+
+    // Served entirely from memory; no transaction work happens here
+    public List<BikeSuggestIndex.Suggestion> suggest(BikeSuggestIndex.Field field, String prefix, int limit) {
+        return bikeSuggestIndex.suggest(field, prefix, limit);
+    }
+
+    // Nearest bikes within radiusKm, closest first. Without a time window only bikes available
+    // right now qualify; with one, any bike in service qualifies unless a confirmed or active
+    // booking overlaps [start, end). Booked candidates are dropped with one batched query, and
+    // the candidate pool grows until limit bikes survive or the radius runs out.
+    public List<BikeDto> findNearbyBikes(double latitude, double longitude, double radiusKm,
+                                         LocalDateTime start, LocalDateTime end, int limit) {
+        // createBooking only accepts AVAILABLE bikes, so a window narrows that set, never widens it
+        Predicate<BikeGeoIndex.Point> usable = point -> point.status() == BikeStatus.AVAILABLE;
+        List<BikeGeoIndex.Neighbour> nearest;
+        for (int pool = limit; ; pool = Math.min(pool * 4, MAX_NEARBY_CANDIDATES)) {
+            List<BikeGeoIndex.Neighbour> candidates = bikeGeoIndex.nearest(latitude, longitude, radiusKm, pool, usable);
+            nearest = candidates;
+            if (start != null && !candidates.isEmpty()) {
+                Set<Long> booked = new HashSet<>(bookingRepository.findBookedBikeIds(
+                        candidates.stream().map(BikeGeoIndex.Neighbour::bikeId).toList(), start, end));
+                nearest = candidates.stream().filter(n -> !booked.contains(n.bikeId())).toList();
+            }
+            if (nearest.size() >= limit || candidates.size() < pool || pool >= MAX_NEARBY_CANDIDATES) {
+                break;
+            }
+        }
+
+        List<BikeGeoIndex.Neighbour> page = nearest.subList(0, Math.min(limit, nearest.size()));
+        Map<Long, Bike> bikes = bikeRepository.findAllById(page.stream().map(BikeGeoIndex.Neighbour::bikeId).toList())
+                .stream()
+                .collect(Collectors.toMap(Bike::getId, Function.identity()));
+        return page.stream()
+                .filter(n -> bikes.containsKey(n.bikeId()))
+                .map(n -> {
+                    BikeDto dto = toDto(bikes.get(n.bikeId()));
+                    dto.setDistanceKm(Math.round(n.distanceKm() * 1000) / 1000.0);
+                    return dto;
+                })
+                .toList();
+    }
+
+    // First few available bikes stand in for "popular" until we track rental counts
+    public List<BikeDto> getPopularBikes(int limit) {
+        return bikeRepository.findByIsActiveTrueAndStatus(BikeStatus.AVAILABLE)
+                .stream()
+                .limit(limit)
+                .map(this::toDto)
+                .toList();
+    }
+
+    @Transactional
+    public Bike createBike(Bike bike) {
+        Bike saved = bikeRepository.save(bike);
+        eventPublisher.publishEvent(new BikeChangedEvent(saved.getId()));
+        return saved;
+    }
+
+    @Transactional
+    public Optional<Bike> updateBike(Long id, Bike bikeDetails) {
+        return bikeRepository.findById(id).map(bike -> {
+            VersionCheck.require(Bike.class, id, bike.getVersion(), bikeDetails.getVersion());
+            bike.setBrand(bikeDetails.getBrand());
+            bike.setModel(bikeDetails.getModel());
+            bike.setYear(bikeDetails.getYear());
+            bike.setType(bikeDetails.getType());
+            bike.setCity(bikeDetails.getCity());
+            bike.setLatitude(bikeDetails.getLatitude());
+            bike.setLongitude(bikeDetails.getLongitude());
+            bike.setPricePerHour(bikeDetails.getPricePerHour());
+            bike.setPricePerDay(bikeDetails.getPricePerDay());
+            bike.setPricePerMonth(bikeDetails.getPricePerMonth());
+            bike.setDynamicPricing(bikeDetails.getDynamicPricing());
+            bike.setDescription(bikeDetails.getDescription());
+            bike.setImageUrl(bikeDetails.getImageUrl());
+            bike.setStatus(bikeDetails.getStatus());
+            Bike saved = bikeRepository.save(bike);
+            eventPublisher.publishEvent(new BikeChangedEvent(id));
+            return saved;
+        });
+    }
+
+    @Transactional
+    public boolean deleteBike(Long id) {
+        if (!bikeRepository.existsById(id)) {
+            return false;
+        }
+        bikeRepository.deleteById(id);
+        eventPublisher.publishEvent(new BikeChangedEvent(id));
+        return true;
+    }
+
+    private List<BikeDto> toDtos(List<Bike> bikes) {
+        return bikes.stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    // Payloads point at resized, content-hashed image variants instead of the original upload
+    private BikeDto toDto(Bike bike) {
+        BikeDto dto = new BikeDto(bike);
+        dto.setThumbnailUrl(imageService.variantUrl(bike.getImageUrl(), ImageService.Variant.THUMBNAIL));
+        dto.setCardUrl(imageService.variantUrl(bike.getImageUrl(), ImageService.Variant.CARD));
+        dto.setDetailUrl(imageService.variantUrl(bike.getImageUrl(), ImageService.Variant.DETAIL));
+        return dto;
+    }
+}
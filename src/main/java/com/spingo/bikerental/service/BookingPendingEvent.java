@@ -0,0 +1,8 @@
+package com.spingo.bikerental.service;
+
+import java.time.LocalDateTime;
+
+// Published when a booking is created in PENDING; PendingBookingExpiry schedules its expiry
+// after commit. Confirming or cancelling needs no event: expiry re-checks the status.
+public record BookingPendingEvent(Long bookingId, LocalDateTime createdAt) {
+}
@@ -0,0 +1,282 @@
+package com.spingo.bikerental.service;
+
+import com.spingo.bikerental.Bike;
+import com.spingo.bikerental.BikeRepository;
+import com.spingo.bikerental.BikeStatus;
+import com.spingo.bikerental.Booking;
+import com.spingo.bikerental.BookingRepository;
+import com.spingo.bikerental.BookingStatus;
+import com.spingo.bikerental.User;
+import com.spingo.bikerental.UserRepository;
+import com.spingo.bikerental.dto.BookingRequest;
+import com.spingo.bikerental.pricing.PricingEngine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Multi-step writes (booking + bike status) commit or roll back together in one transaction.
+// Reads default to read-only transactions, see BikeService.
+@Service
+@Transactional(readOnly = true)
+public class BookingService {
+
+    private final BookingRepository bookingRepository;
+
+    private final BikeRepository bikeRepository;
+
+    private final UserRepository userRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final PricingEngine pricingEngine;
+
+    private final Counter bookingsCreated;
+
+    private final Counter bookingsCancelled;
+
+    private final Counter bookingsExpired;
+
+    private final Counter bookingsStarted;
+
+    private final Counter bookingsCompleted;
+
+    public BookingService(BookingRepository bookingRepository, BikeRepository bikeRepository,
+                          UserRepository userRepository, ApplicationEventPublisher eventPublisher,
+                          PricingEngine pricingEngine, MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.bikeRepository = bikeRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.pricingEngine = pricingEngine;
+        this.bookingsCreated = Counter.builder("bookings.created")
+            .description("Bookings committed")
+            .register(meterRegistry);
+        this.bookingsCancelled = Counter.builder("bookings.cancelled")
+            .description("Bookings cancelled")
+            .register(meterRegistry);
+        this.bookingsExpired = Counter.builder("bookings.expired")
+            .description("Pending bookings cancelled for not being confirmed in time")
+            .register(meterRegistry);
+        this.bookingsStarted = Counter.builder("bookings.started")
+            .description("Confirmed bookings moved to ACTIVE at their pickup time")
+            .register(meterRegistry);
+        this.bookingsCompleted = Counter.builder("bookings.completed")
+            .description("Active bookings moved to COMPLETED at their dropoff time")
+            .register(meterRegistry);
+    }
+
+    public List<Booking> getAllBookings() {
+        return bookingRepository.findAll();
+    }
+
+    public Optional<Booking> getBookingById(Long id) {
+        return bookingRepository.findById(id);
+    }
+
+    public List<Booking> getBookingsByUserId(Long userId) {
+        return bookingRepository.findByUserId(userId);
+    }
+
+    public List<Booking> getBookingsByBikeId(Long bikeId) {
+        return bookingRepository.findByBikeId(bikeId);
+    }
+
+    public List<Booking> getBookingsByStatus(BookingStatus status) {
+        return bookingRepository.findByStatus(status);
+    }
+
+    // Validation failures are reported as IllegalArgumentException and roll the transaction back
+    @Transactional
+    public Booking createBooking(BookingRequest bookingRequest) {
+        // Validate user exists
+        User user = userRepository.findById(bookingRequest.getUserId())
+                .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + bookingRequest.getUserId()));
+
+        // Validate bike exists and is available
+        Bike bike = bikeRepository.findById(bookingRequest.getBikeId())
+                .orElseThrow(() -> new IllegalArgumentException("Bike not found with ID: " + bookingRequest.getBikeId()));
+
+        if (bike.getStatus() != BikeStatus.AVAILABLE) {
+            throw new IllegalArgumentException("Bike is not available. Current status: " + bike.getStatus());
+        }
+
+        // Validate dates
+        if (bookingRequest.getPickupDate() == null || bookingRequest.getDropoffDate() == null) {
+            throw new IllegalArgumentException("Pickup and dropoff dates are required");
+        }
+
+        if (bookingRequest.getPickupDate().isAfter(bookingRequest.getDropoffDate())) {
+            throw new IllegalArgumentException("Pickup date cannot be after dropoff date");
+        }
+        pricingEngine.checkRentalLength(bookingRequest.getPickupDate(), bookingRequest.getDropoffDate());
+
+        // Calculate total price based on time difference
+        BigDecimal totalPrice = pricingEngine.quote(
+            bike,
+            bookingRequest.getPickupDate(),
+            bookingRequest.getDropoffDate()
+        ).total();
+
+        Booking booking = new Booking();
+        booking.setUser(user);
+        booking.setBike(bike);
+        booking.setPickupDate(bookingRequest.getPickupDate());
+        booking.setDropoffDate(bookingRequest.getDropoffDate());
+        booking.setTotalPrice(totalPrice);
+        booking.setStatus(BookingStatus.PENDING);
+
+        // Bike is managed, the status change is flushed with the booking insert. Its @Version
+        // makes a concurrent booking of the same bike fail instead of double-booking it.
+        bike.setStatus(BikeStatus.BOOKED);
+        eventPublisher.publishEvent(new BikeChangedEvent(bike.getId()));
+
+        Booking saved = bookingRepository.save(booking);
+        incrementOnCommit(bookingsCreated);
+        eventPublisher.publishEvent(new BookingPendingEvent(saved.getId(), saved.getCreatedAt()));
+        return saved;
+    }
+
+    @Transactional
+    public Optional<Booking> updateBooking(Long id, BookingRequest bookingRequest) {
+        return bookingRepository.findById(id).map(booking -> {
+            VersionCheck.require(Booking.class, id, booking.getVersion(), bookingRequest.getVersion());
+            pricingEngine.checkRentalLength(bookingRequest.getPickupDate(), bookingRequest.getDropoffDate());
+            booking.setPickupDate(bookingRequest.getPickupDate());
+            booking.setDropoffDate(bookingRequest.getDropoffDate());
+
+            // Recalculate total price
+            booking.setTotalPrice(pricingEngine.quote(
+                booking.getBike(),
+                bookingRequest.getPickupDate(),
+                bookingRequest.getDropoffDate()
+            ).total());
+            return bookingRepository.save(booking);
+        });
+    }
+
+    @Transactional
+    public Optional<Booking> cancelBooking(Long id, Long expectedVersion) {
+        return bookingRepository.findById(id).map(booking -> {
+            VersionCheck.require(Booking.class, id, booking.getVersion(), expectedVersion);
+            booking.setStatus(BookingStatus.CANCELLED);
+
+            // Release the bike in the same transaction
+            booking.getBike().setStatus(BikeStatus.AVAILABLE);
+            eventPublisher.publishEvent(new BikeChangedEvent(booking.getBike().getId()));
+            Booking saved = bookingRepository.save(booking);
+            incrementOnCommit(bookingsCancelled);
+            return saved;
+        });
+    }
+
+    // Payment received: the booking holds the bike for good and no longer expires
+    @Transactional
+    public Optional<Booking> confirmBooking(Long id, Long expectedVersion) {
+        return bookingRepository.findById(id).map(booking -> {
+            VersionCheck.require(Booking.class, id, booking.getVersion(), expectedVersion);
+            if (booking.getStatus() != BookingStatus.PENDING) {
+                throw new IllegalArgumentException("Only pending bookings can be confirmed. Current status: "
+                    + booking.getStatus());
+            }
+            booking.setStatus(BookingStatus.CONFIRMED);
+            return bookingRepository.save(booking);
+        });
+    }
+
+    // Cancels those of the given bookings that are still PENDING and were created at or before
+    // createdBefore, releasing their bikes. Bookings confirmed or cancelled in the meantime are
+    // left alone, so callers may pass ids from a stale schedule.
+    @Transactional
+    public int expirePendingBookings(Collection<Long> ids, LocalDateTime createdBefore) {
+        int expired = 0;
+        for (Booking booking : bookingRepository.findAllById(ids)) {
+            if (booking.getStatus() != BookingStatus.PENDING || booking.getCreatedAt().isAfter(createdBefore)) {
+                continue;
+            }
+            booking.setStatus(BookingStatus.CANCELLED);
+            Bike bike = booking.getBike();
+            if (bike.getStatus() == BikeStatus.BOOKED) {
+                bike.setStatus(BikeStatus.AVAILABLE);
+                eventPublisher.publishEvent(new BikeChangedEvent(bike.getId()));
+            }
+            expired++;
+        }
+        incrementOnCommit(bookingsExpired, expired);
+        return expired;
+    }
+
+    // Lifecycle transitions for BookingLifecycleJob, like expirePendingBookings: each booking is
+    // re-checked, so ones changed since they were selected are skipped and re-running is harmless.
+    // Without a check-in flow the scheduled pickup time stands in for the actual one.
+    @Transactional
+    public int startBookings(Collection<Long> ids, LocalDateTime now) {
+        int started = 0;
+        for (Booking booking : bookingRepository.findAllById(ids)) {
+            if (booking.getStatus() != BookingStatus.CONFIRMED || booking.getPickupDate().isAfter(now)) {
+                continue;
+            }
+            booking.setStatus(BookingStatus.ACTIVE);
+            if (booking.getActualPickupDate() == null) {
+                booking.setActualPickupDate(booking.getPickupDate());
+            }
+            Bike bike = booking.getBike();
+            if (bike.getStatus() == BikeStatus.BOOKED) {
+                bike.setStatus(BikeStatus.RENTED);
+                eventPublisher.publishEvent(new BikeChangedEvent(bike.getId()));
+            }
+            started++;
+        }
+        incrementOnCommit(bookingsStarted, started);
+        return started;
+    }
+
+    @Transactional
+    public int completeBookings(Collection<Long> ids, LocalDateTime now) {
+        int completed = 0;
+        for (Booking booking : bookingRepository.findAllById(ids)) {
+            if (booking.getStatus() != BookingStatus.ACTIVE || booking.getDropoffDate().isAfter(now)) {
+                continue;
+            }
+            booking.setStatus(BookingStatus.COMPLETED);
+            if (booking.getActualDropoffDate() == null) {
+                booking.setActualDropoffDate(booking.getDropoffDate());
+            }
+            // A bike sent to maintenance mid-rental stays there
+            Bike bike = booking.getBike();
+            if (bike.getStatus() == BikeStatus.RENTED || bike.getStatus() == BikeStatus.BOOKED) {
+                bike.setStatus(BikeStatus.AVAILABLE);
+                eventPublisher.publishEvent(new BikeChangedEvent(bike.getId()));
+            }
+            completed++;
+        }
+        incrementOnCommit(bookingsCompleted, completed);
+        return completed;
+    }
+
+    private static void incrementOnCommit(Counter counter) {
+        incrementOnCommit(counter, 1);
+    }
+
+    // The version check runs at flush, so only count once the transaction actually commits
+    private static void incrementOnCommit(Counter counter, int amount) {
+        if (amount == 0) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counter.increment(amount);
+            }
+        });
+    }
+}
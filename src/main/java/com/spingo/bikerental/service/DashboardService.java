@@ -0,0 +1,149 @@
+package com.spingo.bikerental.service;
+
+import com.spingo.bikerental.Bike;
+import com.spingo.bikerental.BikeRepository;
+import com.spingo.bikerental.BikeStatus;
+import com.spingo.bikerental.Booking;
+import com.spingo.bikerental.BookingRepository;
+import com.spingo.bikerental.BookingStatus;
+import com.spingo.bikerental.User;
+import com.spingo.bikerental.UserRepository;
+import com.spingo.bikerental.UserRole;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Every dashboard is assembled inside a single read-only transaction, so the
+// statistics come from one connection and one persistence context.
+@Service
+@Transactional(readOnly = true)
+public class DashboardService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    public Optional<Map<String, Object>> getCustomerDashboard(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            return Optional.empty();
+        }
+
+        Map<String, Object> dashboard = new HashMap<>();
+
+        // Get user's bookings
+        List<Booking> userBookings = bookingRepository.findByUserId(userId);
+        dashboard.put("totalBookings", userBookings.size());
+        dashboard.put("activeBookings", userBookings.stream()
+            .filter(b -> b.getStatus() == BookingStatus.CONFIRMED || b.getStatus() == BookingStatus.ACTIVE)
+            .count());
+        dashboard.put("recentBookings", userBookings.stream().limit(5).toList());
+        dashboard.put("totalSpent", sumCompleted(userBookings));
+
+        return Optional.of(dashboard);
+    }
+
+    public Map<String, Object> getAdminDashboard() {
+        Map<String, Object> dashboard = new HashMap<>();
+
+        // User statistics
+        dashboard.put("totalUsers", userRepository.count());
+        dashboard.put("activeUsers", userRepository.countByIsActiveTrue());
+
+        // User counts by role
+        Map<UserRole, Long> usersByRole = new HashMap<>();
+        for (UserRole role : UserRole.values()) {
+            usersByRole.put(role, userRepository.countByRole(role));
+        }
+        dashboard.put("usersByRole", usersByRole);
+
+        // Bike statistics
+        dashboard.put("totalBikes", bikeRepository.count());
+        dashboard.put("availableBikes", bikeRepository.countByStatus(BikeStatus.AVAILABLE));
+        dashboard.put("bookedBikes", bikeRepository.countByStatus(BikeStatus.BOOKED));
+
+        // Booking statistics
+        dashboard.put("totalBookings", bookingRepository.count());
+        dashboard.put("pendingBookings", bookingRepository.countByStatus(BookingStatus.PENDING));
+        dashboard.put("activeBookings", bookingRepository.countByStatus(BookingStatus.ACTIVE));
+        dashboard.put("completedBookings", bookingRepository.countByStatus(BookingStatus.COMPLETED));
+
+        // Revenue calculation
+        dashboard.put("totalRevenue", bookingRepository.sumTotalPriceByStatus(BookingStatus.COMPLETED));
+
+        return dashboard;
+    }
+
+    public Optional<Map<String, Object>> getOwnerDashboard(Long userId) {
+        return userRepository.findById(userId).map(owner -> {
+            Map<String, Object> dashboard = fleetStatistics(owner);
+            dashboard.put("totalEarnings", dashboard.remove("completedRevenue"));
+            return dashboard;
+        });
+    }
+
+    public Optional<Map<String, Object>> getBusinessDashboard(Long userId) {
+        return userRepository.findById(userId).map(businessOwner -> {
+            Map<String, Object> dashboard = fleetStatistics(businessOwner);
+            dashboard.put("totalRevenue", dashboard.remove("completedRevenue"));
+            return dashboard;
+        });
+    }
+
+    public Map<String, Object> getPartnerDashboard(Long userId) {
+        Map<String, Object> dashboard = new HashMap<>();
+
+        // Bookings are not assigned to delivery partners yet, so partners see platform-wide counts
+        dashboard.put("totalDeliveries", bookingRepository.count());
+        dashboard.put("pendingDeliveries", bookingRepository.countByStatus(BookingStatus.PENDING));
+        dashboard.put("completedDeliveries", bookingRepository.countByStatus(BookingStatus.COMPLETED));
+
+        // Calculate earnings (assuming delivery partners get a percentage)
+        BigDecimal totalEarnings = bookingRepository.sumTotalPriceByStatus(BookingStatus.COMPLETED)
+            .multiply(BigDecimal.valueOf(0.1)); // 10% commission
+        dashboard.put("totalEarnings", totalEarnings);
+
+        return dashboard;
+    }
+
+    // Shared by the owner and business dashboards: bike and booking counts for one owner's fleet
+    private Map<String, Object> fleetStatistics(User owner) {
+        Map<String, Object> dashboard = new HashMap<>();
+
+        List<Bike> bikes = bikeRepository.findByOwnerAndIsActiveTrue(owner);
+        dashboard.put("totalBikes", bikes.size());
+        dashboard.put("availableBikes", bikes.stream()
+            .filter(b -> b.getStatus() == BikeStatus.AVAILABLE)
+            .count());
+        dashboard.put("bookedBikes", bikes.stream()
+            .filter(b -> b.getStatus() == BikeStatus.BOOKED)
+            .count());
+
+        // Bookings for the owner's bikes, filtered in the query rather than over findAll()
+        List<Booking> bookings = bookingRepository.findByBikeOwnerAndBikeIsActiveTrue(owner);
+        dashboard.put("totalBookings", bookings.size());
+        dashboard.put("activeBookings", bookings.stream()
+            .filter(b -> b.getStatus() == BookingStatus.ACTIVE)
+            .count());
+        dashboard.put("completedRevenue", sumCompleted(bookings));
+
+        return dashboard;
+    }
+
+    private BigDecimal sumCompleted(List<Booking> bookings) {
+        return bookings.stream()
+            .filter(b -> b.getStatus() == BookingStatus.COMPLETED)
+            .map(Booking::getTotalPrice)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
@@ -0,0 +1,141 @@
+package com.spingo.bikerental.service;
+
+import com.spingo.bikerental.Document;
+import com.spingo.bikerental.DocumentRepository;
+import com.spingo.bikerental.DocumentType;
+import com.spingo.bikerental.User;
+import com.spingo.bikerental.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+// Stores verification documents on disk under their SHA-256 (sharded by the first two hex
+// digits) and keeps the metadata in the documents table. Tomcat spools every multipart part
+// to disk (file-size-threshold=0), so an upload never sits in the heap: the part is moved
+// into the store and hashed through a FileChannel with a fixed direct buffer.
+@Service
+@Transactional(readOnly = true)
+public class DocumentService {
+
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${documents.storage-dir:data/documents}")
+    private String storageLocation;
+
+    // Disk work runs outside any transaction so slow uploads don't hold a pooled
+    // connection; only the final insert is transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Document store(User user, DocumentType type, MultipartFile file) throws IOException {
+        validate(type, file);
+        String sha256 = storeContent(file);
+        // The principal is rebuilt from the access token, not loaded; reference the row by id
+        Document document = new Document(userRepository.getReferenceById(user.getId()), type, file.getOriginalFilename(),
+            normalizeContentType(file.getContentType()), file.getSize(), sha256);
+        return documentRepository.save(document);
+    }
+
+    public List<Document> getDocumentsForUser(Long userId) {
+        return documentRepository.findByUserIdOrderByUploadedAtDesc(userId);
+    }
+
+    public Optional<Document> findDocument(Long id) {
+        return documentRepository.findById(id);
+    }
+
+    public Path contentPath(Document document) {
+        return contentPath(document.getSha256());
+    }
+
+    private void validate(DocumentType type, MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("Document file is empty: " + type);
+        }
+        if (file.getSize() > type.getMaxSize()) {
+            throw new IllegalArgumentException("Document exceeds " + type.getMaxSize() / (1024 * 1024)
+                + "MB limit: " + type);
+        }
+        if (!type.getContentTypes().contains(normalizeContentType(file.getContentType()))) {
+            throw new IllegalArgumentException("Unsupported content type " + file.getContentType()
+                + " for " + type);
+        }
+    }
+
+    // Moves the spooled part into the store (a rename when both are on one filesystem) and
+    // keeps a single copy per distinct content
+    private String storeContent(MultipartFile file) throws IOException {
+        Path dir = storageDir();
+        Files.createDirectories(dir);
+        Path temp = dir.resolve("upload-" + UUID.randomUUID() + ".tmp").toAbsolutePath();
+        try {
+            file.transferTo(temp.toFile());
+            String sha256 = hash(temp);
+            Path target = contentPath(sha256);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                // A concurrent upload of the same content writes identical bytes, so replacing is harmless
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return sha256;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String hash(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(HASH_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private Path contentPath(String sha256) {
+        return storageDir().resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    private Path storageDir() {
+        return Paths.get(storageLocation);
+    }
+
+    private static String normalizeContentType(String contentType) {
+        return contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
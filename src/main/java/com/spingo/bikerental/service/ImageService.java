@@ -0,0 +1,302 @@
+package com.spingo.bikerental.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Stores bike images on local disk under their SHA-256 content hash and derives resized
+// JPEG variants from them. Because a file name never changes content, everything under
+// /media/images/ can be cached by browsers forever.
+@Service
+public class ImageService {
+
+    public static final String MEDIA_PREFIX = "/media/images/";
+
+    private static final Logger log = LoggerFactory.getLogger(ImageService.class);
+
+    // Only bundled files under static/images/ may be imported from the classpath
+    private static final String STATIC_IMAGES_DIR = "images/";
+
+    // <hash>.<ext> for originals, <hash>-<variant>.jpg for derived sizes
+    private static final Pattern FILE_NAME = Pattern.compile("([0-9a-f]{64})(?:-([a-z]+))?\\.([a-z0-9]+)");
+
+    // The only formats stored and served inline; anything else could be script (HTML, SVG)
+    private static final Map<String, MediaType> IMAGE_TYPES = Map.of(
+        "jpg", MediaType.IMAGE_JPEG,
+        "jpeg", MediaType.IMAGE_JPEG,
+        "png", MediaType.IMAGE_PNG,
+        "webp", MediaType.parseMediaType("image/webp"));
+
+    public enum Variant {
+        THUMBNAIL(160),
+        CARD(480),
+        DETAIL(1200);
+
+        private final int width;
+
+        Variant(int width) {
+            this.width = width;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public String suffix() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @Value("${images.storage-dir:data/images}")
+    private String storageLocation;
+
+    @Value("${images.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    // Content hash of each bundled static image (e.g. "images/yamaha-r1.jpg"), empty if unusable
+    private final Map<String, Optional<String>> staticImageHashes = new ConcurrentHashMap<>();
+
+    // Stores an uploaded original and eagerly renders all variants; returns its media URL.
+    // Anything but a decodable JPEG, PNG or WebP is rejected with IllegalArgumentException.
+    public String store(InputStream input, String originalFilename) throws IOException {
+        String extension = extensionOf(originalFilename);
+        if (extension == null) {
+            throw new IllegalArgumentException("Only JPEG, PNG and WebP images are accepted");
+        }
+        String hash = storeOriginal(input, extension);
+        for (Variant variant : Variant.values()) {
+            renderVariant(hash, variant);
+        }
+        return MEDIA_PREFIX + findOriginal(hash).getFileName();
+    }
+
+    // URL of the given variant for a Bike.imageUrl. External URLs are returned unchanged;
+    // bundled static images are imported into the store on first use.
+    public String variantUrl(String imageUrl, Variant variant) {
+        if (imageUrl == null || imageUrl.isBlank()) {
+            return imageUrl;
+        }
+        Optional<String> hash;
+        if (imageUrl.startsWith(MEDIA_PREFIX)) {
+            Matcher matcher = FILE_NAME.matcher(imageUrl.substring(MEDIA_PREFIX.length()));
+            hash = matcher.matches() ? Optional.of(matcher.group(1)) : Optional.empty();
+        } else if (imageUrl.contains("://")) {
+            return imageUrl;
+        } else {
+            String path = normalizeStaticPath(imageUrl);
+            if (!path.startsWith(STATIC_IMAGES_DIR)) {
+                return imageUrl;
+            }
+            hash = staticImageHashes.computeIfAbsent(path, this::importStaticImage);
+        }
+        return hash.map(h -> MEDIA_PREFIX + h + "-" + variant.suffix() + ".jpg").orElse(imageUrl);
+    }
+
+    // Content type for serving a stored file inline; empty for anything that is not one of the
+    // accepted raster formats (e.g. files stored before uploads were validated)
+    public static Optional<MediaType> imageType(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return Optional.ofNullable(dot < 0 ? null : IMAGE_TYPES.get(fileName.substring(dot + 1)));
+    }
+
+    // Resolves a /media/images/ file name to a file on disk, rendering a variant lazily if needed
+    public Optional<Path> resolve(String fileName) throws IOException {
+        Matcher matcher = FILE_NAME.matcher(fileName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        Path file = storageDir().resolve(fileName);
+        if (Files.isRegularFile(file)) {
+            return Optional.of(file);
+        }
+        String hash = matcher.group(1);
+        if (matcher.group(2) == null || findOriginal(hash) == null) {
+            return Optional.empty();
+        }
+        Variant variant;
+        try {
+            variant = Variant.valueOf(matcher.group(2).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        return Optional.of(renderVariant(hash, variant));
+    }
+
+    private Optional<String> importStaticImage(String path) {
+        ClassPathResource resource = new ClassPathResource("static/" + path);
+        if (!resource.exists()) {
+            return Optional.empty();
+        }
+        String extension = extensionOf(path);
+        if (extension == null) {
+            return Optional.empty();
+        }
+        try (InputStream input = resource.getInputStream()) {
+            return Optional.of(storeOriginal(input, extension));
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Could not import static image {}: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // Streams the upload to a temp file while hashing it, checks that ImageIO can decode it,
+    // then moves it to <hash>.<ext>
+    private String storeOriginal(InputStream input, String extension) throws IOException {
+        Files.createDirectories(storageDir());
+        Path temp = Files.createTempFile(storageDir(), "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(input, digest);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                in.transferTo(out);
+            }
+            if (ImageIO.read(temp.toFile()) == null) {
+                throw new IllegalArgumentException("File is not a readable image");
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = storageDir().resolve(hash + "." + extension);
+            if (!Files.exists(target)) {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Renders a variant next to its original. Originals ImageIO can't decode (stored before
+    // uploads were validated) fall back to serving the original.
+    private Path renderVariant(String hash, Variant variant) throws IOException {
+        Path target = storageDir().resolve(hash + "-" + variant.suffix() + ".jpg");
+        if (Files.isRegularFile(target)) {
+            return target;
+        }
+        Path original = findOriginal(hash);
+        BufferedImage source = ImageIO.read(original.toFile());
+        if (source == null) {
+            return original;
+        }
+
+        Path temp = Files.createTempFile(storageDir(), "variant-", ".tmp");
+        try {
+            writeJpeg(scaleToWidth(source, variant.getWidth()), temp);
+            // Concurrent renders of the same variant produce identical bytes, last move wins
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return target;
+    }
+
+    // Halves the image repeatedly before the final step, which keeps bilinear scaling sharp
+    // for large reductions without the cost of area-averaging
+    private static BufferedImage scaleToWidth(BufferedImage source, int maxWidth) {
+        int targetWidth = Math.min(maxWidth, source.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * (double) targetWidth / source.getWidth()));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = width == targetWidth ? targetHeight : Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = step.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                // JPEG has no alpha: flatten transparent PNGs onto white
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, width, height);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = step;
+        } while (width > targetWidth);
+        return current;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private Path findOriginal(String hash) throws IOException {
+        if (!Files.isDirectory(storageDir())) {
+            return null;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(storageDir(), hash + ".*")) {
+            for (Path file : files) {
+                return file;
+            }
+        }
+        return null;
+    }
+
+    private Path storageDir() {
+        return Paths.get(storageLocation);
+    }
+
+    private static String normalizeStaticPath(String imageUrl) {
+        String path = imageUrl.startsWith("/") ? imageUrl.substring(1) : imageUrl;
+        return Paths.get(path).normalize().toString().replace('\\', '/');
+    }
+
+    // Null unless the name ends in one of the accepted image extensions
+    private static String extensionOf(String fileName) {
+        if (fileName == null) {
+            return null;
+        }
+        int dot = fileName.lastIndexOf('.');
+        String extension = dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return IMAGE_TYPES.containsKey(extension) ? extension : null;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.spingo.bikerental.service;
+
+import com.spingo.bikerental.Bike;
+import com.spingo.bikerental.BikeRepository;
+import com.spingo.bikerental.BikeType;
+import com.spingo.bikerental.DemandPricingHistory;
+import com.spingo.bikerental.DemandPricingHistoryRepository;
+import com.spingo.bikerental.dto.QuoteRequest;
+import com.spingo.bikerental.pricing.DemandMultipliers;
+import com.spingo.bikerental.pricing.PricingEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Batch quotes for the listing page: all bikes are loaded in one findAllById (mostly served
+// from the second-level cache) and priced by the same engine bookings are charged with
+@Service
+@Transactional(readOnly = true)
+public class PricingService {
+
+    public static final int MAX_QUOTE_BIKES = 200;
+
+    private static final int MAX_HISTORY_ROWS = 500;
+
+    @Autowired
+    private BikeRepository bikeRepository;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private DemandMultipliers demandMultipliers;
+
+    @Autowired
+    private DemandPricingHistoryRepository demandPricingHistoryRepository;
+
+    // Keyed by bike id in request order; unknown and inactive bikes are left out
+    public Map<Long, PricingEngine.Quote> quote(QuoteRequest request) {
+        if (request.getBikeIds() == null || request.getBikeIds().isEmpty()) {
+            throw new IllegalArgumentException("At least one bike id is required");
+        }
+        if (request.getBikeIds().size() > MAX_QUOTE_BIKES) {
+            throw new IllegalArgumentException("At most " + MAX_QUOTE_BIKES + " bikes can be quoted at once");
+        }
+        if (request.getPickupDate() == null || request.getDropoffDate() == null) {
+            throw new IllegalArgumentException("Pickup and dropoff dates are required");
+        }
+        if (request.getPickupDate().isAfter(request.getDropoffDate())) {
+            throw new IllegalArgumentException("Pickup date cannot be after dropoff date");
+        }
+        pricingEngine.checkRentalLength(request.getPickupDate(), request.getDropoffDate());
+
+        Set<Long> ids = new LinkedHashSet<>(request.getBikeIds());
+        Map<Long, Bike> bikes = bikeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Bike::getId, Function.identity()));
+        Map<Long, PricingEngine.Quote> quotes = new LinkedHashMap<>();
+        for (Long id : ids) {
+            Bike bike = bikes.get(id);
+            if (bike != null && Boolean.TRUE.equals(bike.getIsActive()) && bike.getPricePerHour() != null) {
+                quotes.put(id, pricingEngine.quote(bike, request.getPickupDate(), request.getDropoffDate()));
+            }
+        }
+        return quotes;
+    }
+
+    public DemandMultipliers.Snapshot currentDemandMultipliers() {
+        return demandMultipliers.current();
+    }
+
+    public List<DemandPricingHistory> demandHistory(String city, BikeType type, int limit) {
+        return demandPricingHistoryRepository.findRecent(city, type,
+                PageRequest.of(0, Math.max(1, Math.min(limit, MAX_HISTORY_ROWS))));
+    }
+}
@@ -0,0 +1,135 @@
+package com.spingo.bikerental.service;
+
+import com.spingo.bikerental.JwtUtil;
+import com.spingo.bikerental.RefreshToken;
+import com.spingo.bikerental.RefreshTokenRepository;
+import com.spingo.bikerental.TokenRevocationList;
+import com.spingo.bikerental.User;
+import com.spingo.bikerental.UserRepository;
+import com.spingo.bikerental.dto.TokenPair;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+// Issues short-lived access tokens (validated from their signature alone) together with
+// opaque, single-use refresh tokens kept in the refresh_tokens table. Revocation reaches
+// the access-token check through TokenRevocationList, never through a per-request query.
+@Service
+@Transactional(readOnly = true)
+public class TokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenRevocationList revocationList;
+
+    @Value("${jwt.refresh-expiration}")
+    private long refreshExpiration;
+
+    @Transactional
+    public TokenPair issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    // Rotates a refresh token. Empty when it is unknown, expired or the user is inactive; a token
+    // that was already rotated means it leaked, so its whole family is revoked.
+    @Transactional
+    public Optional<TokenPair> refresh(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return Optional.empty();
+        }
+        Optional<RefreshToken> found = refreshTokenRepository.findByTokenHash(hash(refreshToken));
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+
+        RefreshToken token = found.get();
+        LocalDateTime now = LocalDateTime.now();
+        if (token.getExpiresAt().isBefore(now)) {
+            return Optional.empty();
+        }
+        if (refreshTokenRepository.markRevoked(token.getId(), now) == 0) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            return Optional.empty();
+        }
+
+        User user = userRepository.findById(token.getUser().getId()).orElse(null);
+        if (user == null || !user.isEnabled()) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            return Optional.empty();
+        }
+        return Optional.of(issue(user, token.getFamilyId()));
+    }
+
+    // Ends a session: its refresh-token family is revoked and the presented access token
+    // stops working immediately instead of at its expiry
+    @Transactional
+    public void logout(String refreshToken, String accessTokenId) {
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+        }
+        if (accessTokenId != null) {
+            revocationList.revokeToken(accessTokenId);
+        }
+    }
+
+    // For deactivated or deleted users: no new access tokens, and current ones are refused
+    @Transactional
+    public void revokeUser(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+        revocationList.revokeUser(userId);
+    }
+
+    @Transactional
+    public void deleteUserTokens(Long userId) {
+        revokeUser(userId);
+        refreshTokenRepository.deleteAllForUser(userId);
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    @Transactional
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private TokenPair issue(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(hash(refreshToken), user, familyId,
+            LocalDateTime.now().plus(Duration.ofMillis(refreshExpiration))));
+        return new TokenPair(jwtUtil.generateToken(user), refreshToken, jwtUtil.getExpirationMillis() / 1000);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
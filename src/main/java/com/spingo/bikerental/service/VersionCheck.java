@@ -0,0 +1,18 @@
+package com.spingo.bikerental.service;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+// Compares the version a client last read with the version currently stored.
+// A missing expected version skips the check; Hibernate's @Version check at flush
+// still catches writes that race with this transaction.
+public final class VersionCheck {
+
+    private VersionCheck() {
+    }
+
+    public static void require(Class<?> entityType, Object id, Long currentVersion, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new ObjectOptimisticLockingFailureException(entityType, id);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+-- One-off migration for MySQL databases created before enum columns became TINYINT codes.
+-- ddl-auto=update does not change existing column types, so run this once before starting
+-- the new version. Codes must match the values declared in the CodedEnum enums.
+
+UPDATE bikes SET type = CASE type
+    WHEN 'SPORT' THEN '1' WHEN 'CRUISER' THEN '2' WHEN 'TOURING' THEN '3' WHEN 'STANDARD' THEN '4' END;
+UPDATE bikes SET status = CASE status
+    WHEN 'AVAILABLE' THEN '1' WHEN 'BOOKED' THEN '2' WHEN 'RENTED' THEN '3'
+    WHEN 'MAINTENANCE' THEN '4' WHEN 'OUT_OF_SERVICE' THEN '5' END;
+ALTER TABLE bikes MODIFY type TINYINT, MODIFY status TINYINT;
+
+UPDATE bookings SET status = CASE status
+    WHEN 'PENDING' THEN '1' WHEN 'CONFIRMED' THEN '2' WHEN 'ACTIVE' THEN '3'
+    WHEN 'COMPLETED' THEN '4' WHEN 'CANCELLED' THEN '5' END;
+ALTER TABLE bookings MODIFY status TINYINT;
+
+UPDATE users SET role = CASE role
+    WHEN 'ADMIN' THEN '1' WHEN 'CUSTOMER' THEN '2' WHEN 'INDIVIDUAL_OWNER' THEN '3'
+    WHEN 'RENTAL_BUSINESS' THEN '4' WHEN 'DELIVERY_PARTNER' THEN '5' END;
+ALTER TABLE users MODIFY role TINYINT;
+
+-- pickup/drop clock times are now derived from pickup_date/dropoff_date
+ALTER TABLE bookings DROP COLUMN pickup_time, DROP COLUMN drop_time;
+
+CREATE INDEX idx_bookings_bike_range ON bookings (bike_id, pickup_date, dropoff_date);
@@ -151,7 +151,7 @@ class SpinGoApp {
         col.innerHTML = `
             <div class="card bike-card h-100">
                 <div class="position-relative">
-                    <img src="${bike.imageUrl || 'images/bike_1.jpg'}" 
+                    <img src="${bike.cardUrl || bike.imageUrl || 'images/bike_1.jpg'}" 
                          class="card-img-top" alt="${bike.brand} ${bike.model}" style="height: 200px; object-fit: cover;">
                     <div class="position-absolute top-0 end-0 m-2">
                         <span class="badge bg-success status-badge">${bike.status === 'AVAILABLE' ? 'Available' : bike.status}</span>
@@ -277,15 +277,12 @@ class SpinGoApp {
             throw new Error('Backend API is not connected');
         }
 
-        const defaultOptions = {
+        const response = await this.authFetch(`${this.apiBaseUrl}${endpoint}`, {
+            ...options,
             headers: {
                 'Content-Type': 'application/json',
+                ...(options.headers || {})
             }
-        };
-
-        const response = await fetch(`${this.apiBaseUrl}${endpoint}`, {
-            ...defaultOptions,
-            ...options
         });
 
         if (!response.ok) {
@@ -294,6 +291,61 @@ class SpinGoApp {
 
         return response.json();
     }
+
+    getAuthHeaders() {
+        const token = localStorage.getItem('token');
+        return token ? { 'Authorization': `Bearer ${token}` } : {};
+    }
+
+    // fetch() with the stored access token. Access tokens live 15 minutes: on a 401 the
+    // refresh token is traded for a new pair and the request is retried once.
+    async authFetch(url, options = {}) {
+        const send = () => fetch(url, {
+            ...options,
+            headers: { ...(options.headers || {}), ...this.getAuthHeaders() }
+        });
+
+        const response = await send();
+        if (response.status !== 401 || !localStorage.getItem('refreshToken')) {
+            return response;
+        }
+        return await this.refreshAccessToken() ? send() : response;
+    }
+
+    // Refresh tokens are single use, so concurrent 401s share one refresh call.
+    // Resolves to the new access token, or null when the session is over.
+    refreshAccessToken() {
+        if (!this.refreshing) {
+            this.refreshing = this.requestTokenRefresh().finally(() => {
+                this.refreshing = null;
+            });
+        }
+        return this.refreshing;
+    }
+
+    async requestTokenRefresh() {
+        const refreshToken = localStorage.getItem('refreshToken');
+        try {
+            const response = await fetch(`${this.apiBaseUrl}/auth/refresh`, {
+                method: 'POST',
+                headers: { 'Content-Type': 'application/json' },
+                body: JSON.stringify({ refreshToken })
+            });
+            if (response.ok) {
+                const result = await response.json();
+                localStorage.setItem('token', result.token);
+                localStorage.setItem('refreshToken', result.refreshToken);
+                return result.token;
+            }
+        } catch (error) {
+            console.error('Token refresh failed:', error);
+            return null;
+        }
+        // Expired, used up or revoked: the user has to log in again
+        localStorage.removeItem('token');
+        localStorage.removeItem('refreshToken');
+        return null;
+    }
 }
 
 // Initialize the application when DOM is loaded
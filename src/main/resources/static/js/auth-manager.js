@@ -28,10 +28,22 @@ class AuthManager {
     }
 
     logout() {
+        const refreshToken = localStorage.getItem('refreshToken');
+        if (refreshToken && window.app) {
+            // Revoke the session server-side; don't wait for the response
+            fetch(`${window.app.apiBaseUrl}/auth/logout`, {
+                method: 'POST',
+                headers: { 'Content-Type': 'application/json', ...window.app.getAuthHeaders() },
+                body: JSON.stringify({ refreshToken }),
+                keepalive: true
+            }).catch(() => {});
+        }
+
         this.currentUser = null;
         localStorage.removeItem('spinGoUser');
         localStorage.removeItem('user');
         localStorage.removeItem('token');
+        localStorage.removeItem('refreshToken');
         localStorage.removeItem('spinGoCart'); // Clear cart on logout
         sessionStorage.removeItem('token');
         sessionStorage.removeItem('user');
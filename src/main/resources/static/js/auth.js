@@ -3,6 +3,7 @@ class AuthManager {
     constructor() {
         this.apiBaseUrl = 'http://localhost:8080/api';
         this.tokenKey = 'spingo_token';
+        this.refreshTokenKey = 'spingo_refresh_token';
         this.userKey = 'spingo_user';
         this.init();
     }
@@ -129,12 +130,11 @@ class AuthManager {
 
     handleSuccessfulLogin(result, remember) {
         // Store authentication data
-        if (remember) {
-            localStorage.setItem(this.tokenKey, result.token);
-            localStorage.setItem(this.userKey, JSON.stringify(result.user));
-        } else {
-            sessionStorage.setItem(this.tokenKey, result.token);
-            sessionStorage.setItem(this.userKey, JSON.stringify(result.user));
+        const storage = remember ? localStorage : sessionStorage;
+        storage.setItem(this.tokenKey, result.token);
+        storage.setItem(this.userKey, JSON.stringify(result.user));
+        if (result.refreshToken) {
+            storage.setItem(this.refreshTokenKey, result.refreshToken);
         }
 
         // Also update the auth manager if available
@@ -182,9 +182,26 @@ class AuthManager {
     }
 
     logout() {
+        const token = this.getAuthToken();
+        const refreshToken = localStorage.getItem(this.refreshTokenKey) || sessionStorage.getItem(this.refreshTokenKey);
+        if (refreshToken) {
+            // Revoke the session server-side; don't wait for the response
+            fetch(`${this.apiBaseUrl}/auth/logout`, {
+                method: 'POST',
+                headers: {
+                    'Content-Type': 'application/json',
+                    ...(token ? { 'Authorization': `Bearer ${token}` } : {})
+                },
+                body: JSON.stringify({ refreshToken }),
+                keepalive: true
+            }).catch(() => {});
+        }
+
         localStorage.removeItem(this.tokenKey);
+        localStorage.removeItem(this.refreshTokenKey);
         localStorage.removeItem(this.userKey);
         sessionStorage.removeItem(this.tokenKey);
+        sessionStorage.removeItem(this.refreshTokenKey);
         sessionStorage.removeItem(this.userKey);
         
         window.location.href = 'index.html';
@@ -9,9 +9,33 @@ class BikesManager {
 
     init() {
         this.loadBikes();
+        this.loadCityOptions();
         this.setupEventListeners();
     }
 
+    // Fill the city dropdown from /bikes/suggest (distinct cities with bike counts) rather
+    // than from the catalog; the static options in bikes.html remain as the offline fallback
+    async loadCityOptions() {
+        const cityFilter = document.getElementById('cityFilter');
+        if (!cityFilter || !window.app || !window.app.isConnected) return;
+
+        try {
+            const response = await fetch(`${window.app.apiBaseUrl}/bikes/suggest?field=city&limit=50`);
+            if (!response.ok) return;
+            const cities = await response.json();
+            if (cities.length === 0) return;
+
+            const selected = cityFilter.value;
+            cityFilter.innerHTML = '<option value="">All Cities</option>';
+            cities
+                .sort((a, b) => a.value.localeCompare(b.value))
+                .forEach(city => cityFilter.add(new Option(`${city.value} (${city.count})`, city.value)));
+            cityFilter.value = selected;
+        } catch (error) {
+            console.log('❌ Failed to load city options:', error.message);
+        }
+    }
+
     async loadBikes() {
         const bikesGrid = document.getElementById('bikesGrid');
         const loadingSpinner = document.getElementById('loadingSpinner');
@@ -251,7 +275,7 @@ class BikesManager {
 
         col.innerHTML = `
             <div class="card bike-card h-100" data-bike-id="${bike.id}">
-                <img src="${bike.imageUrl || 'images/Bike_1.jpg'}" 
+                <img src="${bike.cardUrl || bike.imageUrl || 'images/Bike_1.jpg'}" 
                      class="card-img-top" alt="${bike.brand} ${bike.model}" style="height: 250px; object-fit: cover;">
                 <div class="card-body">
                     <div class="d-flex justify-content-between align-items-start mb-2">
@@ -394,7 +418,7 @@ class BikesManager {
         const cartItem = {
             id: bike.id,
             name: `${bike.year} ${bike.brand} ${bike.model}`,
-            image: bike.imageUrl || 'images/Bike_1.jpg',
+            image: bike.thumbnailUrl || bike.imageUrl || 'images/Bike_1.jpg',
             price: bike.pricePerHour,
             duration: 4, // Default 4 hours
             quantity: 1,
@@ -549,7 +573,7 @@ class BikesManager {
         const hours = Math.ceil(timeDiffMs / (1000 * 60 * 60));
         
         this.displayTimeCalculation(hours, pickTime, dropTime, pickupDate, dropOffDate);
-        this.updateBikePricing(hours);
+        this.updateBikePricing(hours, `${pickupDate}T${pickTime}:00`, `${dropOffDate}T${dropTime}:00`);
     }
 
     displayTimeCalculation(hours, pickTime, dropTime, pickupDate, dropOffDate) {
@@ -578,15 +602,19 @@ class BikesManager {
         }
     }
 
-    updateBikePricing(hours) {
-        // Update pricing for all displayed bikes based on calculated hours
+    async updateBikePricing(hours, pickupDate, dropoffDate) {
+        // Update pricing for all displayed bikes; totals come from the server's pricing engine
+        // (day/month rates, surges) in one call, with hourly rate x hours as the offline fallback
         const bikeCards = document.querySelectorAll('.bike-card');
+        const bikeIds = Array.from(bikeCards, card => parseInt(card.dataset.bikeId));
+        const quotes = await this.fetchQuotes(bikeIds, pickupDate, dropoffDate);
+
         bikeCards.forEach(card => {
             const bikeId = parseInt(card.dataset.bikeId);
             const bike = this.allBikes.find(b => b.id === bikeId);
             
             if (bike) {
-                const totalPrice = bike.pricePerHour * hours;
+                const totalPrice = quotes && quotes[bikeId] ? quotes[bikeId].total : bike.pricePerHour * hours;
                 const priceElement = card.querySelector('.total-price');
                 const totalPriceSection = document.getElementById(`totalPrice-${bikeId}`);
                 
@@ -597,6 +625,22 @@ class BikesManager {
             }
         });
     }
+
+    async fetchQuotes(bikeIds, pickupDate, dropoffDate) {
+        if (bikeIds.length === 0 || !window.app || !window.app.isConnected) return null;
+
+        try {
+            const response = await fetch(`${window.app.apiBaseUrl}/pricing/quote`, {
+                method: 'POST',
+                headers: { 'Content-Type': 'application/json' },
+                body: JSON.stringify({ bikeIds: bikeIds.slice(0, 200), pickupDate, dropoffDate })
+            });
+            return response.ok ? await response.json() : null;
+        } catch (error) {
+            console.log('❌ Failed to fetch price quotes:', error.message);
+            return null;
+        }
+    }
 }
 
 // Initialize bikes manager when DOM is loaded
@@ -311,7 +311,6 @@ class BookingManager {
     async createBooking(bookingData) {
         if (window.app && window.app.isConnected && window.authManager && window.authManager.isAuthenticated()) {
             try {
-                const token = window.authManager.getAuthToken();
                 const user = window.authManager.getCurrentUser();
                 
                 // Prepare booking request for backend
@@ -324,11 +323,10 @@ class BookingManager {
                     dropTime: this.calculateDropTime(bookingData.timeSlot, bookingData.duration)
                 };
 
-                const response = await fetch(`${window.app.apiBaseUrl}/bookings`, {
+                const response = await window.app.authFetch(`${window.app.apiBaseUrl}/bookings`, {
                     method: 'POST',
                     headers: {
-                        'Content-Type': 'application/json',
-                        'Authorization': `Bearer ${token}`
+                        'Content-Type': 'application/json'
                     },
                     body: JSON.stringify(bookingRequest)
                 });
@@ -291,27 +291,24 @@ class DocumentsManager {
     }
 
     async submitToVerification() {
-        // Simulate API call delay
-        await new Promise(resolve => setTimeout(resolve, 2000));
-
-        // In a real application, you would upload files to a server here
-        // const formData = new FormData();
-        // Object.keys(this.uploadedDocuments).forEach(docType => {
-        //     if (this.uploadedDocuments[docType]) {
-        //         formData.append(docType, this.uploadedDocuments[docType]);
-        //     }
-        // });
-        
-        // const response = await fetch('/api/documents/upload', {
-        //     method: 'POST',
-        //     body: formData
-        // });
-        
-        // if (!response.ok) {
-        //     throw new Error('Document upload failed');
-        // }
-        
-        console.log('Documents submitted for verification:', this.uploadedDocuments);
+        const formData = new FormData();
+        Object.keys(this.uploadedDocuments).forEach(docType => {
+            // Documents loaded from an earlier visit are placeholders, not File objects
+            if (this.uploadedDocuments[docType] instanceof File) {
+                formData.append(docType, this.uploadedDocuments[docType]);
+            }
+        });
+
+        const response = await window.app.authFetch('/api/documents/upload', {
+            method: 'POST',
+            body: formData
+        });
+
+        if (!response.ok) {
+            throw new Error('Document upload failed');
+        }
+
+        return response.json();
     }
 
     updateAllStatuses(status) {
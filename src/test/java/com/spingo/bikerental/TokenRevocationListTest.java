@@ -0,0 +1,73 @@
+package com.spingo.bikerental;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenRevocationListTest {
+
+    private final TokenRevocationList revocations = new TokenRevocationList(10_000, 0.01);
+
+    @Test
+    void nothingIsRevokedInitially() {
+        assertFalse(revocations.isRevoked("token-1", 1L));
+    }
+
+    @Test
+    void revokedTokensAreRejectedForTheirIdOnly() {
+        revocations.revokeToken("token-1");
+
+        assertTrue(revocations.isRevoked("token-1", 1L));
+        assertFalse(revocations.isRevoked("token-2", 1L));
+    }
+
+    @Test
+    void revokedUsersLoseEveryToken() {
+        revocations.revokeUser(7L);
+
+        assertTrue(revocations.isRevoked("token-1", 7L));
+        assertTrue(revocations.isRevoked("token-2", 7L));
+        assertFalse(revocations.isRevoked("token-1", 8L));
+    }
+
+    @Test
+    void tokenAndUserIdsDoNotCollide() {
+        revocations.revokeUser(7L);
+
+        assertFalse(revocations.isRevoked("7", 8L));
+    }
+
+    @Test
+    void entriesSurviveOneRotationAndExpireAfterTwo() {
+        revocations.revokeToken("token-1");
+        revocations.revokeUser(7L);
+
+        revocations.rotate();
+        assertTrue(revocations.isRevoked("token-1", 1L));
+        assertTrue(revocations.isRevoked("token-2", 7L));
+
+        revocations.rotate();
+        assertFalse(revocations.isRevoked("token-1", 1L));
+        assertFalse(revocations.isRevoked("token-2", 7L));
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheTargetAtCapacity() {
+        for (int i = 0; i < 10_000; i++) {
+            revocations.revokeToken(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            // User ids below zero are never revoked here, so only the token probe can match
+            if (revocations.isRevoked(UUID.randomUUID().toString(), -1L)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < probes * 0.02, falsePositives + " false positives in " + probes);
+    }
+}
@@ -0,0 +1,86 @@
+package com.spingo.bikerental.expiry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    private static final long TICK = 1000;
+
+    private static final long ORIGIN = 1_000_000;
+
+    // 8 buckets, one turn of the wheel is 8 seconds
+    private final TimingWheel wheel = new TimingWheel(TICK, 8, ORIGIN);
+
+    @Test
+    void firesAtTheFirstTickAtOrAfterTheDeadline() {
+        wheel.schedule(1, ORIGIN + 2500);
+
+        assertTrue(wheel.advance(ORIGIN + 2999).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(ORIGIN + 3000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextTick() {
+        wheel.schedule(1, ORIGIN - 60_000);
+
+        assertTrue(wheel.advance(ORIGIN + 999).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(ORIGIN + 1000));
+    }
+
+    @Test
+    void deadlinesInLaterTurnsWaitForTheirTurn() {
+        // Same bucket as tick 2, three turns later
+        wheel.schedule(1, ORIGIN + 26 * TICK);
+        wheel.schedule(2, ORIGIN + 2 * TICK);
+
+        assertEquals(List.of(2L), wheel.advance(ORIGIN + 2 * TICK));
+        for (long tick = 3; tick < 26; tick++) {
+            assertTrue(wheel.advance(ORIGIN + tick * TICK).isEmpty(), "fired early at tick " + tick);
+        }
+        assertEquals(List.of(1L), wheel.advance(ORIGIN + 26 * TICK));
+    }
+
+    @Test
+    void reschedulingReplacesTheEarlierDeadline() {
+        wheel.schedule(1, ORIGIN + 2 * TICK);
+        wheel.schedule(1, ORIGIN + 5 * TICK);
+
+        assertEquals(1, wheel.size());
+        assertTrue(wheel.advance(ORIGIN + 4 * TICK).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(ORIGIN + 5 * TICK));
+    }
+
+    @Test
+    void cancelledIdsNeverFire() {
+        wheel.schedule(1, ORIGIN + 2 * TICK);
+        wheel.schedule(2, ORIGIN + 2 * TICK);
+        wheel.cancel(1);
+        wheel.cancel(42);
+
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(2L), wheel.advance(ORIGIN + 20 * TICK));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void catchesUpAfterMoreThanAFullTurn() {
+        wheel.schedule(1, ORIGIN + 3 * TICK);
+        wheel.schedule(2, ORIGIN + 11 * TICK);
+        wheel.schedule(3, ORIGIN + 30 * TICK);
+
+        // Three turns in one step: everything due fires once, the rest stays scheduled
+        List<Long> due = wheel.advance(ORIGIN + 24 * TICK);
+        assertEquals(2, due.size());
+        assertTrue(due.containsAll(List.of(1L, 2L)));
+        assertEquals(1, wheel.size());
+
+        assertTrue(wheel.advance(ORIGIN + 29 * TICK).isEmpty());
+        assertEquals(List.of(3L), wheel.advance(ORIGIN + 30 * TICK));
+    }
+}
@@ -0,0 +1,198 @@
+package com.spingo.bikerental.pricing;
+
+import com.spingo.bikerental.BikeType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PricingEngineTest {
+
+    private static final BigDecimal HOURLY = new BigDecimal("100");
+
+    // Worth 10 hours, so a day pays off from the 11th hour
+    private static final BigDecimal DAILY = new BigDecimal("1000");
+
+    // Worth 20 days
+    private static final BigDecimal MONTHLY = new BigDecimal("20000");
+
+    // A Wednesday
+    private static final LocalDateTime PICKUP = LocalDateTime.of(2025, 6, 4, 9, 0);
+
+    @Test
+    void hoursBelowTheDailyBreakEvenAreChargedHourly() {
+        PricingEngine.Quote quote = quote(engine(), PICKUP, PICKUP.plusHours(4));
+
+        assertUnits(quote, 0, 0, 4);
+        assertPrice("400", quote.basePrice());
+    }
+
+    @Test
+    void aPartialDayIsRoundedUpToADayWhenThatIsCheaper() {
+        PricingEngine.Quote quote = quote(engine(), PICKUP, PICKUP.plusHours(20));
+
+        assertUnits(quote, 0, 1, 0);
+        assertPrice("1000", quote.basePrice());
+    }
+
+    @Test
+    void mixesDaysAndHours() {
+        PricingEngine.Quote quote = quote(engine(), PICKUP, PICKUP.plusHours(30));
+
+        assertUnits(quote, 0, 1, 6);
+        assertPrice("1600", quote.basePrice());
+    }
+
+    @Test
+    void aMonthBeatsTwentyNineDays() {
+        PricingEngine.Quote quote = quote(engine(), PICKUP, PICKUP.plusDays(29).plusHours(4));
+
+        assertUnits(quote, 1, 0, 0);
+        assertPrice("20000", quote.basePrice());
+    }
+
+    @Test
+    void missingRatesAreNotOffered() {
+        PricingEngine.Quote quote = engine().quote("Pune", BikeType.SPORT, HOURLY, null, null,
+            PICKUP, PICKUP.plusHours(30));
+
+        assertUnits(quote, 0, 0, 30);
+        assertPrice("3000", quote.basePrice());
+    }
+
+    @Test
+    void chargesAtLeastOneHour() {
+        PricingEngine.Quote quote = quote(engine(), PICKUP, PICKUP);
+
+        assertEquals(1, quote.billableHours());
+        assertPrice("100", quote.basePrice());
+    }
+
+    @Test
+    void hourRulesWrapPastMidnight() {
+        PricingEngine engine = engine(rule(r -> {
+            r.setFromHour(22);
+            r.setToHour(6);
+            r.setMultiplier(2.0);
+        }));
+
+        // 20:00-02:00: two plain hours, then four surged ones
+        LocalDateTime evening = PICKUP.withHour(20);
+        PricingEngine.Quote night = quote(engine, evening, evening.plusHours(6));
+        assertEquals(10.0 / 6, night.multiplier(), 1e-9);
+        assertPrice("1000", night.total());
+
+        PricingEngine.Quote day = quote(engine, PICKUP, PICKUP.plusHours(6));
+        assertEquals(1.0, day.multiplier(), 1e-9);
+    }
+
+    @Test
+    void seasonalRulesFollowTheRentalIntoTheNextMonth() {
+        PricingEngine engine = engine(rule(r -> {
+            r.setMonths(List.of(Month.FEBRUARY));
+            r.setMultiplier(2.0);
+        }));
+
+        LocalDateTime pickup = LocalDateTime.of(2025, 1, 31, 12, 0);
+        assertEquals(1.5, quote(engine, pickup, pickup.plusHours(24)).multiplier(), 1e-9);
+    }
+
+    @Test
+    void seasonalRulesFollowTheRentalIntoTheNextYear() {
+        PricingEngine engine = engine(rule(r -> {
+            r.setMonths(List.of(Month.JANUARY));
+            r.setMultiplier(2.0);
+        }));
+
+        LocalDateTime pickup = LocalDateTime.of(2024, 12, 31, 12, 0);
+        assertEquals(1.5, quote(engine, pickup, pickup.plusHours(24)).multiplier(), 1e-9);
+    }
+
+    @Test
+    void monthRolloverCountsLeapDays() {
+        PricingEngine engine = engine(rule(r -> {
+            r.setMonths(List.of(Month.MARCH));
+            r.setMultiplier(2.0);
+        }));
+
+        // 28 Feb 12:00 to 1 Mar 12:00 in 2024 is 36 hours of February and 12 of March
+        LocalDateTime pickup = LocalDateTime.of(2024, 2, 28, 12, 0);
+        assertEquals(60.0 / 48, quote(engine, pickup, pickup.plusHours(48)).multiplier(), 1e-9);
+    }
+
+    @Test
+    void cityRulesMatchCaseInsensitivelyAndOnlyTheirCities() {
+        PricingEngine engine = engine(rule(r -> {
+            r.setCities(List.of("Goa"));
+            r.setMultiplier(1.5);
+        }));
+
+        assertEquals(1.5, engine.quote(" goa", BikeType.SPORT, HOURLY, DAILY, MONTHLY,
+            PICKUP, PICKUP.plusHours(3)).multiplier(), 1e-9);
+        assertEquals(1.0, quote(engine, PICKUP, PICKUP.plusHours(3)).multiplier(), 1e-9);
+    }
+
+    @Test
+    void matchingRulesCompound() {
+        PricingEngine engine = engine(
+            rule(r -> r.setMultiplier(2.0)),
+            rule(r -> {
+                r.setTypes(List.of(BikeType.SPORT));
+                r.setMultiplier(1.5);
+            }));
+
+        assertEquals(3.0, quote(engine, PICKUP, PICKUP.plusHours(2)).multiplier(), 1e-9);
+        assertEquals(2.0, engine.quote("Pune", BikeType.CRUISER, HOURLY, DAILY, MONTHLY,
+            PICKUP, PICKUP.plusHours(2)).multiplier(), 1e-9);
+    }
+
+    @Test
+    void rejectsRentalsLongerThanTheMaximum() {
+        PricingEngine engine = engine();
+
+        assertDoesNotThrow(() -> engine.checkRentalLength(PICKUP, PICKUP.plusDays(365)));
+        assertThrows(IllegalArgumentException.class,
+            () -> engine.checkRentalLength(PICKUP, PICKUP.plus(Duration.ofDays(365).plusHours(1))));
+    }
+
+    @Test
+    void rejectsRulesWithHoursOutsideTheDay() {
+        PricingProperties properties = new PricingProperties();
+        properties.getRules().add(rule(r -> r.setToHour(25)));
+
+        assertThrows(IllegalStateException.class, () -> new PricingEngine(properties, new DemandMultipliers()));
+    }
+
+    private static PricingEngine engine(PricingProperties.Rule... rules) {
+        PricingProperties properties = new PricingProperties();
+        properties.getRules().addAll(List.of(rules));
+        return new PricingEngine(properties, new DemandMultipliers());
+    }
+
+    private static PricingProperties.Rule rule(Consumer<PricingProperties.Rule> setup) {
+        PricingProperties.Rule rule = new PricingProperties.Rule();
+        rule.setName("test");
+        setup.accept(rule);
+        return rule;
+    }
+
+    private static PricingEngine.Quote quote(PricingEngine engine, LocalDateTime pickup, LocalDateTime dropoff) {
+        return engine.quote("Pune", BikeType.SPORT, HOURLY, DAILY, MONTHLY, pickup, dropoff);
+    }
+
+    private static void assertUnits(PricingEngine.Quote quote, long months, long days, long hours) {
+        assertEquals(List.of(months, days, hours), List.of(quote.months(), quote.days(), quote.hours()));
+    }
+
+    private static void assertPrice(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> "expected " + expected + " but was " + actual);
+    }
+}
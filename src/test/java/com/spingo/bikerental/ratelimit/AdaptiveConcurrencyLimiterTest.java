@@ -0,0 +1,104 @@
+package com.spingo.bikerental.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long TARGET = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static final long FAST = TARGET / 2;
+
+    private static final long SLOW = TARGET * 10;
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 20, TARGET);
+
+    @Test
+    void startsAtTheMaximumAndShedsBeyondIt() {
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.tryAcquire(), "request " + i);
+        }
+        assertFalse(limiter.tryAcquire());
+        assertEquals(20, limiter.getInFlight());
+
+        limiter.release(FAST);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void slowCompletionsCutTheLimitByATenth() throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(60);
+        limiter.tryAcquire();
+        limiter.release(SLOW);
+
+        assertEquals(18, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void cutsAtMostOncePerTargetLatency() throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(60);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+        }
+        for (int i = 0; i < 5; i++) {
+            limiter.release(SLOW);
+        }
+
+        assertEquals(18, limiter.getLimit());
+    }
+
+    @Test
+    void neverCutsBelowTheMinimum() throws InterruptedException {
+        for (int i = 0; i < 25; i++) {
+            TimeUnit.MILLISECONDS.sleep(60);
+            limiter.tryAcquire();
+            limiter.release(SLOW);
+        }
+
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void growsByOneWhileTheLimitIsInUse() throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(60);
+        limiter.tryAcquire();
+        limiter.release(SLOW);
+        assertEquals(18, limiter.getLimit());
+
+        for (int i = 0; i < 9; i++) {
+            limiter.tryAcquire();
+        }
+        // 9 in flight against a limit of 18: in use
+        limiter.release(FAST);
+        assertEquals(19, limiter.getLimit());
+    }
+
+    @Test
+    void doesNotGrowWhenMostlyIdle() throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(60);
+        limiter.tryAcquire();
+        limiter.release(SLOW);
+
+        limiter.tryAcquire();
+        limiter.release(FAST);
+        assertEquals(18, limiter.getLimit());
+    }
+
+    @Test
+    void neverGrowsAboveTheMaximum() {
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+        }
+        for (int i = 0; i < 20; i++) {
+            limiter.release(FAST);
+        }
+
+        assertEquals(20, limiter.getLimit());
+    }
+}
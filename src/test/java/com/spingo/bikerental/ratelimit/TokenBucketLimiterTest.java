@@ -0,0 +1,104 @@
+package com.spingo.bikerental.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketLimiterTest {
+
+    // One token per 1000 s, so nothing refills while a test runs
+    private static final double NO_REFILL = 0.001;
+
+    @Test
+    void allowsABurstOfCapacityThenRefuses() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, NO_REFILL);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("a"), "request " + i);
+        }
+        long wait = limiter.tryAcquire("a");
+        assertTrue(wait > 0 && wait <= TimeUnit.SECONDS.toNanos(1000), "wait " + wait);
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() throws InterruptedException {
+        // One token per 100 ms
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 10);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        long wait = limiter.tryAcquire("a");
+        assertTrue(wait > 0 && wait <= TimeUnit.MILLISECONDS.toNanos(100), "wait " + wait);
+
+        TimeUnit.NANOSECONDS.sleep(wait + TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(0, limiter.tryAcquire("a"));
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, NO_REFILL);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void evictsOnlyBucketsThatHaveRefilled() throws InterruptedException {
+        TokenBucketLimiter fast = new TokenBucketLimiter(1, 100);
+        fast.tryAcquire("a");
+        TimeUnit.MILLISECONDS.sleep(30);
+        fast.evictFullBuckets();
+        assertEquals(0, fast.size());
+
+        TokenBucketLimiter slow = new TokenBucketLimiter(2, NO_REFILL);
+        slow.tryAcquire("a");
+        slow.evictFullBuckets();
+        assertEquals(1, slow.size());
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedTheCapacity() throws Exception {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(100, NO_REFILL);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int granted = 0;
+                    for (int i = 0; i < 1000; i++) {
+                        if (limiter.tryAcquire("shared") == 0) {
+                            granted++;
+                        }
+                    }
+                    return granted;
+                }));
+            }
+            start.countDown();
+            int granted = 0;
+            for (Future<Integer> result : results) {
+                granted += result.get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(100, granted);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(1, 0));
+    }
+}
@@ -0,0 +1,141 @@
+package com.spingo.bikerental.search;
+
+import com.spingo.bikerental.BikeStatus;
+import com.spingo.bikerental.BikeType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class BikeGeoIndexTest {
+
+    private static final double PUNE_LAT = 18.52;
+    private static final double PUNE_LON = 73.85;
+
+    private static final Predicate<BikeGeoIndex.Point> ANY = point -> true;
+
+    @Test
+    void emptyIndexTerminatesWithNothing() {
+        BikeGeoIndex index = new BikeGeoIndex();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+            () -> assertEquals(List.of(), index.nearest(PUNE_LAT, PUNE_LON, 50, 10, ANY)));
+    }
+
+    @Test
+    void bikesOutsideTheRadiusAreNotReturned() {
+        BikeGeoIndex index = new BikeGeoIndex();
+        // About 11 km north
+        index.replaceAll(List.of(bike(1, PUNE_LAT + 0.1, PUNE_LON, BikeStatus.AVAILABLE)));
+
+        assertEquals(List.of(), ids(index.nearest(PUNE_LAT, PUNE_LON, 5, 10, ANY)));
+        assertEquals(List.of(1L), ids(index.nearest(PUNE_LAT, PUNE_LON, 12, 10, ANY)));
+    }
+
+    @Test
+    void returnsAtMostLimitNearestFirst() {
+        BikeGeoIndex index = new BikeGeoIndex();
+        index.replaceAll(List.of(
+            bike(1, PUNE_LAT + 0.003, PUNE_LON, BikeStatus.AVAILABLE),
+            bike(2, PUNE_LAT + 0.001, PUNE_LON, BikeStatus.AVAILABLE),
+            bike(3, PUNE_LAT + 0.002, PUNE_LON, BikeStatus.AVAILABLE)));
+
+        assertEquals(List.of(2L, 3L), ids(index.nearest(PUNE_LAT, PUNE_LON, 5, 2, ANY)));
+    }
+
+    @Test
+    void aNeighbouringCellCanHoldTheNearestBike() {
+        BikeGeoIndex index = new BikeGeoIndex();
+        // The caller sits at the top edge of its cell: bike 1 shares the cell but is farther
+        // than bike 2 just across the boundary
+        double latitude = 18.5399;
+        index.replaceAll(List.of(
+            bike(1, 18.5201, PUNE_LON, BikeStatus.AVAILABLE),
+            bike(2, 18.5401, PUNE_LON, BikeStatus.AVAILABLE)));
+
+        assertEquals(List.of(2L), ids(index.nearest(latitude, PUNE_LON, 5, 1, ANY)));
+    }
+
+    @Test
+    void filterIsAppliedBeforeLimit() {
+        BikeGeoIndex index = new BikeGeoIndex();
+        index.replaceAll(List.of(
+            bike(1, PUNE_LAT + 0.001, PUNE_LON, BikeStatus.RENTED),
+            bike(2, PUNE_LAT + 0.05, PUNE_LON, BikeStatus.AVAILABLE)));
+
+        assertEquals(List.of(2L), ids(index.nearest(PUNE_LAT, PUNE_LON, 10, 1,
+            point -> point.status() == BikeStatus.AVAILABLE)));
+    }
+
+    @Test
+    void updatesMoveAndRemoveBikes() {
+        BikeGeoIndex index = new BikeGeoIndex();
+        index.replaceAll(List.of(bike(1, PUNE_LAT, PUNE_LON, BikeStatus.AVAILABLE)));
+
+        index.update(1, bike(1, PUNE_LAT + 0.1, PUNE_LON, BikeStatus.AVAILABLE));
+        assertEquals(List.of(), ids(index.nearest(PUNE_LAT, PUNE_LON, 1, 10, ANY)));
+
+        index.update(1, null);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void matchesABruteForceScan() {
+        assertMatchesBruteForce(PUNE_LAT, PUNE_LON);
+    }
+
+    // Cells are half as wide east-west at 60 degrees
+    @Test
+    void matchesABruteForceScanAtHighLatitude() {
+        assertMatchesBruteForce(60.17, 24.94);
+    }
+
+    private static void assertMatchesBruteForce(double centreLat, double centreLon) {
+        SplittableRandom random = new SplittableRandom(7);
+        List<BikeDocument> bikes = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            BikeStatus status = random.nextInt(4) == 0 ? BikeStatus.RENTED : BikeStatus.AVAILABLE;
+            bikes.add(bike(id, centreLat + random.nextDouble(-0.3, 0.3), centreLon + random.nextDouble(-0.3, 0.3),
+                status));
+        }
+        BikeGeoIndex index = new BikeGeoIndex();
+        index.replaceAll(bikes);
+        Predicate<BikeGeoIndex.Point> available = point -> point.status() == BikeStatus.AVAILABLE;
+
+        for (int query = 0; query < 200; query++) {
+            double latitude = centreLat + random.nextDouble(-0.35, 0.35);
+            double longitude = centreLon + random.nextDouble(-0.35, 0.35);
+            double radiusKm = random.nextDouble(0.1, 50);
+            int limit = 1 + random.nextInt(40);
+
+            List<Long> expected = bikes.stream()
+                .filter(bike -> bike.status() == BikeStatus.AVAILABLE)
+                .filter(bike -> distance(latitude, longitude, bike) <= radiusKm)
+                .sorted(Comparator.comparingDouble(bike -> distance(latitude, longitude, bike)))
+                .limit(limit)
+                .map(BikeDocument::id)
+                .toList();
+            assertEquals(expected, ids(index.nearest(latitude, longitude, radiusKm, limit, available)),
+                () -> "query at " + latitude + "," + longitude + " radius " + radiusKm + " limit " + limit);
+        }
+    }
+
+    private static double distance(double latitude, double longitude, BikeDocument bike) {
+        return BikeGeoIndex.distanceKm(latitude, longitude, bike.latitude(), bike.longitude());
+    }
+
+    private static BikeDocument bike(long id, double latitude, double longitude, BikeStatus status) {
+        return new BikeDocument(id, "Honda", "Activa", "Pune", BikeType.STANDARD, status, null, latitude, longitude);
+    }
+
+    private static List<Long> ids(List<BikeGeoIndex.Neighbour> neighbours) {
+        return neighbours.stream().map(BikeGeoIndex.Neighbour::bikeId).toList();
+    }
+}
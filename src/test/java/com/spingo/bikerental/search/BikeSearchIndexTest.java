@@ -0,0 +1,91 @@
+package com.spingo.bikerental.search;
+
+import com.spingo.bikerental.BikeStatus;
+import com.spingo.bikerental.BikeType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BikeSearchIndexTest {
+
+    @Test
+    void identicalWordsAreZeroEditsApart() {
+        assertEquals(0, BikeSearchIndex.editDistance("honda", "honda", 2));
+        assertEquals(0, BikeSearchIndex.editDistance("", "", 2));
+    }
+
+    @Test
+    void substitutionInsertionAndDeletionCostOneEach() {
+        assertEquals(1, BikeSearchIndex.editDistance("honda", "hondo", 2));
+        assertEquals(1, BikeSearchIndex.editDistance("honda", "hoonda", 2));
+        assertEquals(1, BikeSearchIndex.editDistance("honda", "hnda", 2));
+        assertEquals(3, BikeSearchIndex.editDistance("", "abc", 5));
+    }
+
+    @Test
+    void anAdjacentTranspositionCostsOne() {
+        assertEquals(1, BikeSearchIndex.editDistance("hnoda", "honda", 2));
+        assertEquals(2, BikeSearchIndex.editDistance("hnoad", "honda", 2));
+    }
+
+    @Test
+    void givesUpOnceEveryAlignmentExceedsMax() {
+        assertEquals(4, BikeSearchIndex.editDistance("abcd", "wxyz", 10));
+        assertEquals(2, BikeSearchIndex.editDistance("abcd", "wxyz", 1));
+        assertEquals(1, BikeSearchIndex.editDistance("kawasaki", "suzuki", 0));
+    }
+
+    @Test
+    void typosMatchTermsSharingTheFirstLetter() {
+        BikeSearchIndex index = index();
+
+        assertEquals(List.of(1L), ids(index, "hnoda"));
+        assertEquals(List.of(2L), ids(index, "clasic"));
+        assertEquals(List.of(), ids(index, "onda"));
+    }
+
+    @Test
+    void shortWordsOnlyMatchExactlyOrAsPrefixes() {
+        BikeSearchIndex index = index();
+
+        assertEquals(List.of(3L), ids(index, "r15"));
+        assertEquals(List.of(), ids(index, "r16"));
+        assertEquals(List.of(2L), ids(index, "roy"));
+    }
+
+    @Test
+    void exactMatchesRankAboveFuzzyOnes() {
+        BikeSearchIndex index = index();
+        index.update(4, bike(4, "Hondo", "Trail", "Pune", BikeType.TOURING));
+
+        assertEquals(List.of(1L, 4L), ids(index, "honda"));
+    }
+
+    @Test
+    void removedBikesDropOutOfResults() {
+        BikeSearchIndex index = index();
+        index.update(1, null);
+
+        assertEquals(List.of(), ids(index, "honda"));
+        assertEquals(2, index.size());
+    }
+
+    private static BikeSearchIndex index() {
+        BikeSearchIndex index = new BikeSearchIndex();
+        index.replaceAll(List.of(
+            bike(1, "Honda", "Activa", "Pune", BikeType.STANDARD),
+            bike(2, "Royal Enfield", "Classic 350", "Goa", BikeType.CRUISER),
+            bike(3, "Yamaha", "R15", "Pune", BikeType.SPORT)));
+        return index;
+    }
+
+    private static BikeDocument bike(long id, String brand, String model, String city, BikeType type) {
+        return new BikeDocument(id, brand, model, city, type, BikeStatus.AVAILABLE, null, null, null);
+    }
+
+    private static List<Long> ids(BikeSearchIndex index, String query) {
+        return index.search(query, null, null, null, 10).hits().stream().map(BikeSearchIndex.Hit::bikeId).toList();
+    }
+}